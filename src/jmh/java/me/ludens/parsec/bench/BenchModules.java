@@ -0,0 +1,39 @@
+package me.ludens.parsec.bench;
+
+import me.ludens.parsec.systems.Category;
+import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.systems.ModuleManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for building module sets in benchmarks.
+ */
+public final class BenchModules {
+    private BenchModules() {}
+
+    /**
+     * Create stub modules spread across all categories, without registering them
+     */
+    public static List<HudModule> create(int count) {
+        Category[] categories = Category.values();
+        List<HudModule> modules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            modules.add(new StubModule("Stub" + i, categories[i % categories.length]));
+        }
+        return modules;
+    }
+
+    /**
+     * Create stub modules and register them with ModuleManager.INSTANCE.
+     * Every JMH fork starts with an empty registry.
+     */
+    public static List<HudModule> register(int count) {
+        List<HudModule> modules = create(count);
+        for (HudModule module : modules) {
+            ModuleManager.INSTANCE.register(module);
+        }
+        return modules;
+    }
+}
@@ -0,0 +1,32 @@
+package me.ludens.parsec.bench;
+
+import me.ludens.parsec.gui.ColorSlider;
+import me.ludens.parsec.systems.Category;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ARGB packing used by the color sliders and hex input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorBenchmark {
+    private final StubModule module = new StubModule("Color", Category.RENDER);
+    private int argb = 0xAA102030;
+    private int value = 0;
+
+    @Benchmark
+    public int sliderChannel() {
+        value = (value + 1) & 0xFF;
+        argb = ColorSlider.withChannel(argb, ColorSlider.Channel.GREEN, value);
+        return argb;
+    }
+
+    @Benchmark
+    public int hexUpdate() {
+        module.updateColor("#3366FF", 0xAA);
+        return module.getBackgroundColor();
+    }
+}
@@ -0,0 +1,90 @@
+package me.ludens.parsec.bench;
+
+import me.ludens.parsec.config.ConfigCodec;
+import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.utils.Keybind;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Config save/load through ConfigCodec, without touching the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigBenchmark {
+    @Param({"10", "100", "1000"})
+    public int moduleCount;
+
+    private List<HudModule> modules;
+    private final Map<String, HudModule> byName = new HashMap<>();
+    private final Keybind guiKeybind = new Keybind();
+    private String json;
+    private byte[] jsonBytes;
+    private byte[] binary;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        modules = BenchModules.create(moduleCount);
+        for (int i = 0; i < modules.size(); i++) {
+            HudModule module = modules.get(i);
+            module.setX(i);
+            module.setY(i * 2);
+            module.getKeybind().set(true, 65 + (i % 26), 0);
+            byName.put(module.getName(), module);
+        }
+        json = saveJson();
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        binary = saveBinary();
+    }
+
+    @Benchmark
+    public String saveJson() throws IOException {
+        StringWriter writer = new StringWriter();
+        ConfigCodec.writeJson(ConfigCodec.capture(guiKeybind, modules), writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public boolean loadJson() throws IOException {
+        return ConfigCodec.readJson(new StringReader(json), guiKeybind, byName::get);
+    }
+
+    @Benchmark
+    public boolean roundTripJson() throws IOException {
+        return ConfigCodec.readJson(new StringReader(saveJson()), guiKeybind, byName::get);
+    }
+
+    @Benchmark
+    public byte[] saveBinary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConfigCodec.writeBinary(ConfigCodec.capture(guiKeybind, modules), jsonBytes.length, checksum(jsonBytes), out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Includes checking the binary against the JSON, as ConfigManager does
+     */
+    @Benchmark
+    public boolean loadBinary() throws IOException {
+        return ConfigCodec.readBinary(new ByteArrayInputStream(binary), jsonBytes.length, checksum(jsonBytes),
+            guiKeybind, byName::get);
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(content, 0, content.length);
+        return checksum.getValue();
+    }
+}
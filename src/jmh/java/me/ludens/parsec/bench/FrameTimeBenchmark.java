@@ -0,0 +1,62 @@
+package me.ludens.parsec.bench;
+
+import me.ludens.parsec.profiler.FrameTimeRecorder;
+import me.ludens.parsec.profiler.FrameTimeStats;
+import me.ludens.parsec.profiler.ProfilerStats;
+import me.ludens.parsec.profiler.SampleRing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording a frame and reading p99 over a full window: the histogram
+ * behind FrameTimeRecorder against copying and sorting a SampleRing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrameTimeBenchmark {
+    private final FrameTimeRecorder recorder = new FrameTimeRecorder(FrameTimeRecorder.WINDOW);
+    private final FrameTimeStats frameStats = new FrameTimeStats();
+
+    private final SampleRing ring = new SampleRing(FrameTimeRecorder.WINDOW);
+    private final ProfilerStats ringStats = new ProfilerStats();
+    private final long[] scratch = new long[FrameTimeRecorder.WINDOW];
+
+    private long frame = 0;
+
+    @Setup
+    public void fill() {
+        for (int i = 0; i < FrameTimeRecorder.WINDOW; i++) {
+            long nanos = nextFrame();
+            recorder.record(nanos);
+            ring.record(nanos);
+        }
+    }
+
+    @Benchmark
+    public FrameTimeRecorder recordHistogram() {
+        recorder.record(nextFrame());
+        return recorder;
+    }
+
+    @Benchmark
+    public FrameTimeStats statsHistogram() {
+        recorder.record(nextFrame());
+        recorder.computeStats(frameStats);
+        return frameStats;
+    }
+
+    @Benchmark
+    public ProfilerStats statsSorted() {
+        ring.record(nextFrame());
+        ring.computeStats(ringStats, scratch);
+        return ringStats;
+    }
+
+    // Mostly ~7ms frames with a 40ms hitch every 100th
+    private long nextFrame() {
+        frame++;
+        return frame % 100 == 0 ? 40_000_000L : 6_500_000L + (frame * 7919 % 1_000) * 1_000;
+    }
+}
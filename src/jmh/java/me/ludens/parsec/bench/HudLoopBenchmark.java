@@ -0,0 +1,80 @@
+package me.ludens.parsec.bench;
+
+import me.ludens.parsec.Parsec;
+import me.ludens.parsec.profiler.ModuleProfiler;
+import me.ludens.parsec.systems.HudModule;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import org.openjdk.jmh.annotations.*;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One HUD frame through Parsec.renderHud(), the body of the HUD render
+ * callback, with and without profiling.
+ *
+ * A real DrawContext and TextRenderer need a running client, so the ones
+ * here are allocated without running a constructor and only passed
+ * through. StubModule has a fixed size and never draws, which leaves
+ * Parsec's own share of a frame: layout, the profiler branch, the module
+ * loop and posting RenderHudEvent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HudLoopBenchmark {
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 540;
+    private static final int SCALE = 2;
+
+    @Param({"10", "100", "1000"})
+    public int moduleCount;
+
+    private DrawContext drawContext;
+    private TextRenderer textRenderer;
+    private int frame = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        for (HudModule module : BenchModules.register(moduleCount)) {
+            module.setEnabled(true);
+        }
+
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        Unsafe unsafe = (Unsafe) field.get(null);
+        drawContext = (DrawContext) unsafe.allocateInstance(DrawContext.class);
+        textRenderer = (TextRenderer) unsafe.allocateInstance(TextRenderer.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ModuleProfiler.setEnabled(false);
+    }
+
+    /**
+     * A steady frame: the layout is cached, so this is mostly the render loop
+     */
+    @Benchmark
+    public void renderHud() {
+        ModuleProfiler.setEnabled(false);
+        Parsec.renderHud(drawContext, textRenderer, WIDTH, HEIGHT, SCALE, 0);
+    }
+
+    @Benchmark
+    public void renderHudProfiled() {
+        ModuleProfiler.setEnabled(true);
+        Parsec.renderHud(drawContext, textRenderer, WIDTH, HEIGHT, SCALE, 0);
+    }
+
+    /**
+     * Every frame at a new window size, so every module is laid out again
+     */
+    @Benchmark
+    public void renderHudResized() {
+        ModuleProfiler.setEnabled(false);
+        Parsec.renderHud(drawContext, textRenderer, WIDTH + (frame++ & 1), HEIGHT, SCALE, 0);
+    }
+}
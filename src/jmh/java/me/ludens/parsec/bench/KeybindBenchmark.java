@@ -0,0 +1,60 @@
+package me.ludens.parsec.bench;
+
+import me.ludens.parsec.input.KeybindDispatcher;
+import me.ludens.parsec.utils.Keybind;
+import org.lwjgl.glfw.GLFW;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keybind matching, naming and dispatch-table lookups.
+ * 
+ * getName() is measured on a mouse binding: key names go through
+ * glfwGetKeyName, which needs an initialized GLFW window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KeybindBenchmark {
+    @Param({"10", "100", "1000"})
+    public int bindingCount;
+
+    private final Keybind keybind = new Keybind(true, GLFW.GLFW_KEY_F, GLFW.GLFW_MOD_CONTROL);
+    private final Keybind mouseKeybind = new Keybind(false, GLFW.GLFW_MOUSE_BUTTON_4, GLFW.GLFW_MOD_SHIFT);
+    private final KeybindDispatcher dispatcher = new KeybindDispatcher();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int i = 0; i < bindingCount; i++) {
+            Keybind bind = Keybind.fromKey(GLFW.GLFW_KEY_A + (i % 26));
+            bind.setModifiers(i % 4 == 0 ? GLFW.GLFW_MOD_CONTROL : 0);
+            dispatcher.bind(bind, () -> {});
+        }
+    }
+
+    @Benchmark
+    public boolean matchesHit() {
+        return keybind.matches(true, GLFW.GLFW_KEY_F, GLFW.GLFW_MOD_CONTROL | GLFW.GLFW_MOD_SHIFT);
+    }
+
+    @Benchmark
+    public boolean matchesMiss() {
+        return keybind.matches(true, GLFW.GLFW_KEY_G, GLFW.GLFW_MOD_CONTROL);
+    }
+
+    @Benchmark
+    public String mouseName() {
+        return mouseKeybind.getName();
+    }
+
+    @Benchmark
+    public KeybindDispatcher.Binding dispatchHit() {
+        return dispatcher.resolve(true, GLFW.GLFW_KEY_E, GLFW.GLFW_MOD_CONTROL);
+    }
+
+    @Benchmark
+    public KeybindDispatcher.Binding dispatchMiss() {
+        return dispatcher.resolve(true, GLFW.GLFW_KEY_F12, 0);
+    }
+}
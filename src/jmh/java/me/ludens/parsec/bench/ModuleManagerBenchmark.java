@@ -0,0 +1,73 @@
+package me.ludens.parsec.bench;
+
+import me.ludens.parsec.systems.Category;
+import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.systems.ModuleManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ModuleManager lookups and iteration at different registry sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModuleManagerBenchmark {
+    @Param({"10", "100", "1000"})
+    public int moduleCount;
+
+    private String[] names;
+    private int cursor = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<HudModule> modules = BenchModules.register(moduleCount);
+        names = new String[modules.size()];
+        for (int i = 0; i < modules.size(); i++) {
+            // Enable every other module and look names up in a different case
+            modules.get(i).setEnabled(i % 2 == 0);
+            names[i] = modules.get(i).getName().toUpperCase();
+        }
+    }
+
+    @Benchmark
+    public void iterateAll(Blackhole bh) {
+        List<HudModule> modules = ModuleManager.INSTANCE.getModules();
+        for (int i = 0, n = modules.size(); i < n; i++) {
+            bh.consume(modules.get(i));
+        }
+    }
+
+    @Benchmark
+    public void iterateEnabled(Blackhole bh) {
+        List<HudModule> modules = ModuleManager.INSTANCE.getEnabledModules();
+        for (int i = 0, n = modules.size(); i < n; i++) {
+            bh.consume(modules.get(i));
+        }
+    }
+
+    @Benchmark
+    public HudModule getByName() {
+        String name = names[cursor];
+        cursor = (cursor + 1) % names.length;
+        return ModuleManager.INSTANCE.getModuleByName(name);
+    }
+
+    @Benchmark
+    public StubModule getByClass() {
+        return ModuleManager.INSTANCE.get(StubModule.class);
+    }
+
+    @Benchmark
+    public List<HudModule> getByCategory() {
+        return ModuleManager.INSTANCE.getModulesByCategory(Category.RENDER);
+    }
+
+    @Benchmark
+    public int enabledCount() {
+        return ModuleManager.INSTANCE.getEnabledCount();
+    }
+}
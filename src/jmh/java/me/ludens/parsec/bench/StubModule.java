@@ -0,0 +1,33 @@
+package me.ludens.parsec.bench;
+
+import me.ludens.parsec.systems.Category;
+import me.ludens.parsec.systems.HudModule;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+
+/**
+ * Minimal module for benchmarks. It has a fixed size, and render() does a
+ * trivial amount of work and never touches the DrawContext or
+ * TextRenderer, so it can be driven without a game.
+ */
+public class StubModule extends HudModule {
+    private int frames = 0;
+
+    public StubModule(String name, Category category) {
+        super(name, "Benchmark stub", category, 0, 0);
+    }
+
+    @Override
+    protected void measure(TextRenderer textRenderer) {
+        setContentSize(60, 9);
+    }
+
+    @Override
+    public void render(DrawContext drawContext, TextRenderer textRenderer) {
+        frames++;
+    }
+
+    public int getFrames() {
+        return frames;
+    }
+}
@@ -0,0 +1,43 @@
+package me.ludens.parsec.bench;
+
+import me.ludens.parsec.utils.TextBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the coordinates and profiler lines: String.format() against
+ * writing into a reused TextBuffer. Run with -prof gc to see allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextBufferBenchmark {
+    private final TextBuffer buffer = new TextBuffer();
+    private int x = -1234;
+    private double micros = 12.345;
+
+    @Benchmark
+    public String coordsFormat() {
+        x++;
+        return String.format("XYZ: %d, %d, %d", x, 64, x * 2);
+    }
+
+    @Benchmark
+    public TextBuffer coordsBuffer() {
+        x++;
+        return buffer.clear().append("XYZ: ").append(x).append(", ").append(64).append(", ").append(x * 2);
+    }
+
+    @Benchmark
+    public String decimalFormat() {
+        micros += 0.01;
+        return String.format("%.1f/%.1f", micros, micros * 3);
+    }
+
+    @Benchmark
+    public TextBuffer decimalBuffer() {
+        micros += 0.01;
+        return buffer.clear().append(micros, 1).append('/').append(micros * 3, 1);
+    }
+}
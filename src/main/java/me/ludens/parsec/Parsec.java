@@ -1,14 +1,32 @@
 package me.ludens.parsec;
 
 import me.ludens.parsec.config.ConfigManager;
+import me.ludens.parsec.config.ConfigWatcher;
+import me.ludens.parsec.config.ProfileManager;
+import me.ludens.parsec.events.EventBus;
+import me.ludens.parsec.events.GameJoinedEvent;
+import me.ludens.parsec.events.GameLeftEvent;
+import me.ludens.parsec.events.RenderHudEvent;
+import me.ludens.parsec.events.TickEvent;
 import me.ludens.parsec.input.InputHandler;
+import me.ludens.parsec.profiler.FrameTimeRecorder;
+import me.ludens.parsec.profiler.ModuleProfiler;
+import me.ludens.parsec.systems.HudLayout;
+import me.ludens.parsec.systems.HudModule;
 import me.ludens.parsec.systems.ModuleManager;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * Main entry point for the Parsec mod.
  * UPDATED to use the new InputHandler system (similar to Meteor Client)
@@ -16,6 +34,7 @@ import org.slf4j.LoggerFactory;
 public class Parsec implements ClientModInitializer {
     public static final String MOD_ID = "parsec";
     public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+    public static final EventBus EVENT_BUS = new EventBus();
     
     private static Parsec instance;
     
@@ -32,20 +51,66 @@ public class Parsec implements ClientModInitializer {
         ModuleManager.init();      // Register all modules
         ConfigManager.load();       // Load saved configuration
         InputHandler.init();        // NEW: Initialize input handler (replaces KeybindManager)
+        ProfileManager.load();      // Read named profiles and bind their keys
+        ConfigWatcher.start();      // Hot-reload outside edits to parsec.json
         
         // Register HUD rendering
         HudRenderCallback.EVENT.register((drawContext, tickCounter) -> {
+            // Runs once per frame, so it also times frames for the FPS module's stats
+            if (FrameTimeRecorder.INSTANCE.isEnabled()) {
+                FrameTimeRecorder.INSTANCE.onFrame(System.nanoTime());
+            }
+
             MinecraftClient client = MinecraftClient.getInstance();
             if (client.player == null || client.options.hudHidden) return;
 
-            // Render all enabled modules
-            ModuleManager.INSTANCE.getModules().forEach(module -> {
-                if (module.isEnabled()) {
-                    module.render(drawContext, client.textRenderer);
-                }
-            });
+            renderHud(drawContext, client.textRenderer, drawContext.getScaledWindowWidth(),
+                drawContext.getScaledWindowHeight(), client.getWindow().getScaleFactor(),
+                tickCounter.getTickProgress(true));
+        });
+
+        // Forward game events to subscribed modules
+        ClientTickEvents.END_CLIENT_TICK.register(client -> EVENT_BUS.post(TickEvent.get()));
+        ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> EVENT_BUS.post(GameJoinedEvent.get()));
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> EVENT_BUS.post(GameLeftEvent.get()));
+
+        // Make sure queued config writes hit the disk before exit
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> {
+            ConfigWatcher.stop();
+            ConfigManager.flush();
         });
         
         LOGGER.info("Parsec utility initialized successfully!");
     }
+
+    /**
+     * Draw one frame of the HUD: lay out the enabled modules, render them
+     * and post RenderHudEvent.
+     *
+     * Learning Note: This is the body of the HUD render callback, kept
+     * apart from MinecraftClient so HudLoopBenchmark can call it directly
+     * and measure exactly what a frame costs.
+     */
+    public static void renderHud(DrawContext drawContext, TextRenderer textRenderer,
+                                 int width, int height, int scale, float tickProgress) {
+        // Positions are only recomputed when the screen or the modules changed
+        List<HudModule> modules = ModuleManager.INSTANCE.getEnabledModules();
+        HudLayout.update(modules, textRenderer, width, height, scale);
+
+        // Render all enabled modules, timing each one while profiling
+        if (ModuleProfiler.isEnabled()) {
+            for (int i = 0, n = modules.size(); i < n; i++) {
+                HudModule module = modules.get(i);
+                long start = System.nanoTime();
+                module.render(drawContext, textRenderer);
+                ModuleProfiler.recordRender(module, System.nanoTime() - start);
+            }
+        } else {
+            for (int i = 0, n = modules.size(); i < n; i++) {
+                modules.get(i).render(drawContext, textRenderer);
+            }
+        }
+
+        EVENT_BUS.post(RenderHudEvent.get(drawContext, tickProgress));
+    }
 }
@@ -0,0 +1,960 @@
+package me.ludens.parsec.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.ludens.parsec.Parsec;
+import me.ludens.parsec.settings.DoubleSetting;
+import me.ludens.parsec.settings.EnumSetting;
+import me.ludens.parsec.settings.IntSetting;
+import me.ludens.parsec.settings.Setting;
+import me.ludens.parsec.settings.SettingTable;
+import me.ludens.parsec.settings.SettingType;
+import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.utils.Keybind;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Converts module state to and from the parsec.json format, plus a
+ * compact binary form used as a startup cache.
+ *
+ * Learning Note: Instead of letting Gson build a tree of objects with
+ * reflection, we walk the JSON token by token with JsonReader and set
+ * each value straight on the module. Modules we don't know are skipped
+ * with skipValue(), which doesn't build anything either.
+ *
+ * A module entry holds "enabled" plus one field per setting, named after
+ * the setting. The codec walks each module's SettingTable and only knows
+ * how to format each SettingType, so new module settings need no changes
+ * here.
+ *
+ * Schema history:
+ * 1 - Gson POJO output, no "version" field, colors as plain ints
+ * 2 - "version" is written first, colors are "#AARRGGBB" strings
+ */
+public final class ConfigCodec {
+    public static final int SCHEMA_VERSION = 2;
+
+    private static final int BINARY_MAGIC = 0x50525343; // "PRSC"
+    private static final int BINARY_VERSION = 4;        // 4: stamped with the JSON it mirrors
+
+    private static final long UNBOUND_KEYBIND = new Keybind().toBits();
+
+    private ConfigCodec() {}
+
+    /**
+     * Copy the current state of the GUI keybind and modules
+     */
+    public static Snapshot capture(Keybind guiKeybind, List<HudModule> modules) {
+        return capture(guiKeybind, modules, modules.size());
+    }
+
+    /**
+     * Copy the state of just the given modules, for a journal record
+     */
+    public static Snapshot captureModules(List<HudModule> modules) {
+        return capture(null, modules, modules.size());
+    }
+
+    /**
+     * Copy just the GUI keybind, for a journal record
+     */
+    public static Snapshot captureGuiKeybind(Keybind guiKeybind) {
+        return capture(guiKeybind, List.of(), 0);
+    }
+
+    private static Snapshot capture(Keybind guiKeybind, List<HudModule> modules, int size) {
+        Snapshot snapshot = new Snapshot(size);
+        if (guiKeybind != null) {
+            snapshot.hasGuiKeybind = true;
+            snapshot.guiKeybind = guiKeybind.toBits();
+        }
+
+        for (int i = 0; i < modules.size(); i++) {
+            HudModule module = modules.get(i);
+            SettingTable table = module.getSettings();
+            snapshot.names[i] = module.getName();
+            snapshot.enabled[i] = module.isEnabled();
+            snapshot.tables[i] = table;
+            snapshot.values[i] = table.captureBits();
+        }
+
+        return snapshot;
+    }
+
+    // === JSON ===
+
+    /**
+     * Serialize a snapshot as indented JSON
+     */
+    public static void writeJson(Snapshot snapshot, Writer out) throws IOException {
+        writeJson(snapshot, Map.of(), out);
+    }
+
+    /**
+     * Serialize a snapshot as indented JSON, followed by the saved entries
+     * of modules that haven't been constructed (copied through unchanged)
+     */
+    public static void writeJson(Snapshot snapshot, Map<String, SavedEntry> unloaded, Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writeJson(snapshot, unloaded, writer);
+    }
+
+    /**
+     * Serialize a snapshot as JSON on a single line, for the journal
+     */
+    public static void writeJsonLine(Snapshot snapshot, Writer out) throws IOException {
+        writeJson(snapshot, Map.of(), new JsonWriter(out));
+        out.write('\n');
+    }
+
+    private static void writeJson(Snapshot snapshot, Map<String, SavedEntry> unloaded, JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("version").value(SCHEMA_VERSION);
+
+        if (snapshot.hasGuiKeybind) {
+            writer.name("guiKeybind");
+            writeKeybind(writer, snapshot.guiKeybind);
+        }
+
+        writeModules(writer, snapshot, unloaded);
+
+        writer.endObject();
+        writer.flush();
+    }
+
+    private static void writeModules(JsonWriter writer, Snapshot snapshot, Map<String, SavedEntry> unloaded) throws IOException {
+        writer.name("modules").beginObject();
+        for (int i = 0; i < snapshot.names.length; i++) {
+            writer.name(snapshot.names[i]);
+            writeModule(writer, snapshot, i);
+        }
+        for (Map.Entry<String, SavedEntry> entry : unloaded.entrySet()) {
+            writer.name(entry.getKey());
+            copyValue(entry.getValue().reader(), writer);
+        }
+        writer.endObject();
+    }
+
+    private static void writeModule(JsonWriter writer, Snapshot snapshot, int i) throws IOException {
+        SettingTable table = snapshot.tables[i];
+        long[] values = snapshot.values[i];
+
+        writer.beginObject();
+        writer.name("enabled").value(snapshot.enabled[i]);
+        for (int j = 0; j < table.size(); j++) {
+            Setting<?> setting = table.get(j);
+            writer.name(setting.getName());
+            writeValue(writer, setting, values[j]);
+        }
+        writer.endObject();
+    }
+
+    /**
+     * Copy one JSON value token by token. Numbers are copied as written.
+     */
+    private static void copyValue(JsonReader reader, JsonWriter writer) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT -> {
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    writer.name(reader.nextName());
+                    copyValue(reader, writer);
+                }
+                reader.endObject();
+                writer.endObject();
+            }
+            case BEGIN_ARRAY -> {
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copyValue(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+            }
+            case STRING -> writer.value(reader.nextString());
+            case NUMBER -> writer.jsonValue(reader.nextString());
+            case BOOLEAN -> writer.value(reader.nextBoolean());
+            case NULL -> {
+                reader.nextNull();
+                writer.nullValue();
+            }
+            default -> throw new IOException("Unexpected " + reader.peek() + " at " + reader.getPath());
+        }
+    }
+
+    /**
+     * Write a setting value given as raw bits, formatted for its type
+     */
+    private static void writeValue(JsonWriter writer, Setting<?> setting, long bits) throws IOException {
+        switch (setting.getType()) {
+            case INT -> writer.value((int) bits);
+            case DOUBLE -> writer.value(Double.longBitsToDouble(bits));
+            case BOOL -> writer.value(bits != 0);
+            case COLOR -> writer.value(formatColor((int) bits));
+            case ENUM -> writer.value(((EnumSetting<?>) setting).getConstantName((int) bits));
+            case KEYBIND -> writeKeybind(writer, bits);
+        }
+    }
+
+    /**
+     * Read a setting value as raw bits, clamped to the setting's range
+     *
+     * Learning Note: Applying goes through the setting's setter, which
+     * clamps anyway. But snapshots are also diffed and written back as
+     * they are, so an out-of-range value would look changed on every
+     * reload and be written out as a different number.
+     *
+     * @param current returned when the stored value can't be used (e.g. an unknown enum constant)
+     */
+    private static long readValue(JsonReader reader, Setting<?> setting, int version, long current) throws IOException {
+        return switch (setting.getType()) {
+            case INT -> {
+                IntSetting range = (IntSetting) setting;
+                yield Math.max(range.getMin(), Math.min(range.getMax(), reader.nextLong()));
+            }
+            case DOUBLE -> {
+                DoubleSetting range = (DoubleSetting) setting;
+                double value = reader.nextDouble();
+                yield Double.doubleToLongBits(Double.isNaN(value)
+                    ? range.getMin()
+                    : Math.max(range.getMin(), Math.min(range.getMax(), value)));
+            }
+            case BOOL -> reader.nextBoolean() ? 1 : 0;
+            case COLOR -> readColor(reader, version);
+            case ENUM -> {
+                int ordinal = ((EnumSetting<?>) setting).ordinalOf(reader.nextString());
+                yield ordinal >= 0 ? ordinal : current;
+            }
+            case KEYBIND -> readKeybind(reader, current);
+        };
+    }
+
+    /**
+     * Read JSON and apply it directly to the GUI keybind and modules
+     *
+     * @param modules looks up a module by name, returning null if unknown
+     * @return false if the input was empty
+     */
+    public static boolean readJson(Reader in, Keybind guiKeybind, Function<String, HudModule> modules) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        if (reader.peek() == JsonToken.END_DOCUMENT) {
+            return false;
+        }
+
+        // Version 2+ writes "version" first; anything else is a version 1 file
+        int version = 1;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "version" -> {
+                    version = reader.nextInt();
+                    if (version > SCHEMA_VERSION) {
+                        Parsec.LOGGER.warn("Config was written by a newer version (schema {}), reading what we understand", version);
+                    }
+                }
+                case "guiKeybind" -> guiKeybind.setBits(readKeybind(reader, guiKeybind.toBits()));
+                case "modules" -> readModules(reader, version, modules);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return true;
+    }
+
+    /**
+     * Replay journal records (one JSON object per line) on top of the
+     * loaded state. A torn last line from a crash mid-append is ignored.
+     *
+     * @return the number of records applied
+     */
+    public static int replayJournal(BufferedReader in, Keybind guiKeybind, Function<String, HudModule> modules) throws IOException {
+        int applied = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) continue;
+
+            try {
+                readJson(new StringReader(line), guiKeybind, modules);
+                applied++;
+            } catch (IOException | RuntimeException e) {
+                Parsec.LOGGER.warn("Stopping journal replay at unreadable record {}", applied + 1);
+                break;
+            }
+        }
+        return applied;
+    }
+
+    private static void readModules(JsonReader reader, int version, Function<String, HudModule> modules) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            HudModule module = modules.apply(reader.nextName());
+            if (module == null) {
+                reader.skipValue();
+                continue;
+            }
+            readModule(reader, version, module);
+        }
+        reader.endObject();
+    }
+
+    private static void readModule(JsonReader reader, int version, HudModule module) throws IOException {
+        SettingTable table = module.getSettings();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (field.equals("enabled")) {
+                module.setEnabled(reader.nextBoolean());
+                continue;
+            }
+
+            Setting<?> setting = table.get(field);
+            if (setting == null) {
+                reader.skipValue();
+                continue;
+            }
+            setting.setBits(readValue(reader, setting, version, setting.getBits()));
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Read the module entries of a config file (or journal line) without
+     * looking up any module.
+     *
+     * Learning Note: This is how we keep the saved state of modules that
+     * haven't been constructed yet. Without a module there's no setting
+     * table to tell us how to read each value, so each entry is copied
+     * token by token into a compact JSON string and applied once the
+     * module exists. Only "enabled" and "keybind" are looked at on the
+     * way, to tell whether the module is needed from startup.
+     *
+     * @return module name to saved entry; empty if the input was empty
+     */
+    public static Map<String, SavedEntry> scanModules(Reader in) throws IOException {
+        Map<String, SavedEntry> saved = new LinkedHashMap<>();
+        JsonReader reader = new JsonReader(in);
+        if (reader.peek() == JsonToken.END_DOCUMENT) {
+            return saved;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("modules")) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.skipValue();
+                    continue;
+                }
+                saved.put(name, scanEntry(reader));
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+        return saved;
+    }
+
+    private static SavedEntry scanEntry(JsonReader reader) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter writer = new JsonWriter(out);
+        boolean active = false;
+
+        reader.beginObject();
+        writer.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            writer.name(field);
+            if (field.equals("enabled") && reader.peek() == JsonToken.BOOLEAN) {
+                boolean enabled = reader.nextBoolean();
+                writer.value(enabled);
+                active |= enabled;
+            } else if (field.equals("keybind") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                long keybind = readKeybind(reader, UNBOUND_KEYBIND);
+                writeKeybind(writer, keybind);
+                active |= keybind != UNBOUND_KEYBIND;
+            } else {
+                copyValue(reader, writer);
+            }
+        }
+        reader.endObject();
+        writer.endObject();
+        writer.flush();
+
+        return new SavedEntry(out.toString(), active);
+    }
+
+    /**
+     * scanModules() for each journal record, later records replacing
+     * earlier ones. Stops at a torn last line like replayJournal().
+     */
+    public static void scanJournal(BufferedReader in, Map<String, SavedEntry> saved) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) continue;
+
+            try {
+                saved.putAll(scanModules(new StringReader(line)));
+            } catch (IOException | RuntimeException e) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Apply a saved entry from scanModules() to a module
+     */
+    public static void applyModule(SavedEntry entry, HudModule module) throws IOException {
+        readModule(entry.reader(), SCHEMA_VERSION, module);
+    }
+
+    /**
+     * A module's current state as a saved entry, the same shape
+     * scanModules() returns. Keeps the settings of a module that is
+     * unregistered until it comes back.
+     */
+    public static SavedEntry captureEntry(HudModule module) throws IOException {
+        Snapshot snapshot = captureModules(List.of(module));
+        StringWriter out = new StringWriter();
+        JsonWriter writer = new JsonWriter(out);
+        writeModule(writer, snapshot, 0);
+        writer.flush();
+
+        boolean active = module.isEnabled();
+        Setting<?> keybind = module.getSettings().get("keybind");
+        if (keybind != null && keybind.getType() == SettingType.KEYBIND) {
+            active |= keybind.getBits() != UNBOUND_KEYBIND;
+        }
+        return new SavedEntry(out.toString(), active);
+    }
+
+    private static void writeKeybind(JsonWriter writer, long bits) throws IOException {
+        Keybind keybind = new Keybind();
+        keybind.setBits(bits);
+
+        writer.beginObject();
+        writer.name("isKey").value(keybind.isKey());
+        writer.name("value").value(keybind.getValue());
+        writer.name("modifiers").value(keybind.getModifiers());
+        writer.endObject();
+    }
+
+    /**
+     * Read a keybind object. Missing fields keep their value from {@code current}.
+     */
+    private static long readKeybind(JsonReader reader, long current) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return current;
+        }
+
+        Keybind keybind = new Keybind();
+        keybind.setBits(current);
+        boolean isKey = keybind.isKey();
+        int value = keybind.getValue();
+        int modifiers = keybind.getModifiers();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "isKey" -> isKey = reader.nextBoolean();
+                case "value" -> value = reader.nextInt();
+                case "modifiers" -> modifiers = reader.nextInt();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        keybind.set(isKey, value, modifiers);
+        return keybind.toBits();
+    }
+
+    /**
+     * Colors were plain ints in version 1 and "#AARRGGBB" strings since.
+     * Numbers are accepted either way so hand-edited files still load.
+     */
+    private static int readColor(JsonReader reader, int version) throws IOException {
+        if (version < 2 || reader.peek() == JsonToken.NUMBER) {
+            return (int) reader.nextLong();
+        }
+        String hex = reader.nextString();
+        return (int) Long.parseLong(hex.startsWith("#") ? hex.substring(1) : hex, 16);
+    }
+
+    private static String formatColor(int argb) {
+        return String.format("#%08X", argb);
+    }
+
+    /**
+     * Read a full config (the parsec.json format) into a detached snapshot
+     * without touching any module. Used to diff against live state.
+     *
+     * @param modules looks up a module by name; entries for unknown modules are dropped
+     * @return the snapshot, or null if the input was empty
+     */
+    public static Snapshot readSnapshot(Reader in, Function<String, HudModule> modules) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        if (reader.peek() == JsonToken.END_DOCUMENT) {
+            return null;
+        }
+
+        int version = 1;
+        Snapshot snapshot = new Snapshot(0);
+        boolean hasGuiKeybind = false;
+        long guiKeybind = UNBOUND_KEYBIND;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "version" -> version = reader.nextInt();
+                case "guiKeybind" -> {
+                    hasGuiKeybind = true;
+                    guiKeybind = readKeybind(reader, UNBOUND_KEYBIND);
+                }
+                case "modules" -> snapshot = readSnapshotModules(reader, version, modules, null);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        snapshot.hasGuiKeybind = hasGuiKeybind;
+        snapshot.guiKeybind = guiKeybind;
+        return snapshot;
+    }
+
+    // === Profiles ===
+
+    /**
+     * Serialize a profile: the keybind that switches to it plus its module state
+     */
+    public static void writeProfile(Snapshot snapshot, Keybind keybind, Writer out) throws IOException {
+        writeProfile(snapshot, Map.of(), keybind, out);
+    }
+
+    /**
+     * Serialize a profile, followed by the saved entries of modules that
+     * haven't been constructed (copied through unchanged)
+     */
+    public static void writeProfile(Snapshot snapshot, Map<String, SavedEntry> deferred, Keybind keybind, Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writer.beginObject();
+        writer.name("version").value(SCHEMA_VERSION);
+        writer.name("keybind");
+        writeKeybind(writer, keybind.toBits());
+        writeModules(writer, snapshot, deferred);
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * Read a profile into a detached snapshot without touching any module.
+     * Settings missing from a module entry fall back to their defaults.
+     *
+     * @param keybind receives the profile's switch keybind
+     * @param modules looks up a module by name; entries for unknown modules are dropped
+     * @return the snapshot, or null if the input was empty
+     */
+    public static Snapshot readProfile(Reader in, Keybind keybind, Function<String, HudModule> modules) throws IOException {
+        return readProfile(in, keybind, modules, null);
+    }
+
+    /**
+     * Read a profile like above, keeping the entries of modules that
+     * aren't known as saved entries (like scanModules()) instead of dropping them
+     *
+     * @param deferred receives the entries modules returned null for
+     */
+    public static Snapshot readProfile(Reader in, Keybind keybind, Function<String, HudModule> modules,
+                                       Map<String, SavedEntry> deferred) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        if (reader.peek() == JsonToken.END_DOCUMENT) {
+            return null;
+        }
+
+        int version = 1;
+        Snapshot snapshot = new Snapshot(0);
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "version" -> version = reader.nextInt();
+                case "keybind" -> keybind.setBits(readKeybind(reader, keybind.toBits()));
+                case "modules" -> snapshot = readSnapshotModules(reader, version, modules, deferred);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return snapshot;
+    }
+
+    /**
+     * A snapshot with saved entries (as kept by readProfile()) added at
+     * the end, e.g. for modules constructed since the profile was read
+     */
+    public static Snapshot withEntries(Snapshot snapshot, Map<String, SavedEntry> entries,
+                                       Function<String, HudModule> modules) throws IOException {
+        int count = snapshot.names.length;
+        Snapshot merged = snapshot.resize(count + entries.size());
+
+        for (Map.Entry<String, SavedEntry> entry : entries.entrySet()) {
+            HudModule module = modules.apply(entry.getKey());
+            if (module == null) continue;
+            readSnapshotModule(entry.getValue().reader(), SCHEMA_VERSION, entry.getKey(), module, merged, count++);
+        }
+        return merged.resize(count);
+    }
+
+    private static Snapshot readSnapshotModules(JsonReader reader, int version, Function<String, HudModule> modules,
+                                                Map<String, SavedEntry> deferred) throws IOException {
+        Snapshot snapshot = new Snapshot(8);
+        int count = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            HudModule module = modules.apply(name);
+            if (module == null) {
+                if (deferred != null && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    deferred.put(name, scanEntry(reader));
+                } else {
+                    reader.skipValue();
+                }
+                continue;
+            }
+
+            if (count == snapshot.names.length) {
+                snapshot = snapshot.resize(count * 2);
+            }
+            readSnapshotModule(reader, version, name, module, snapshot, count++);
+        }
+        reader.endObject();
+
+        return snapshot.resize(count);
+    }
+
+    /**
+     * Read one module entry into slot {@code i} of a snapshot
+     */
+    private static void readSnapshotModule(JsonReader reader, int version, String name, HudModule module,
+                                           Snapshot snapshot, int i) throws IOException {
+        SettingTable table = module.getSettings();
+        long[] values = table.defaultBits();
+        snapshot.names[i] = name;
+        snapshot.tables[i] = table;
+        snapshot.values[i] = values;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (field.equals("enabled")) {
+                snapshot.enabled[i] = reader.nextBoolean();
+                continue;
+            }
+
+            Setting<?> setting = table.get(field);
+            if (setting == null) {
+                reader.skipValue();
+                continue;
+            }
+            int j = setting.getIndex();
+            values[j] = readValue(reader, setting, version, values[j]);
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Look up the module for each slot of a snapshot. Slots for modules
+     * that aren't registered come back null.
+     */
+    public static HudModule[] resolve(Snapshot snapshot, Function<String, HudModule> modules) {
+        HudModule[] targets = new HudModule[snapshot.names.length];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = modules.apply(snapshot.names[i]);
+        }
+        return targets;
+    }
+
+    /**
+     * Apply a snapshot to modules resolved with {@link #resolve}, in one pass
+     */
+    public static void apply(Snapshot snapshot, HudModule[] targets) {
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] != null) {
+                applySlot(snapshot, i, targets[i]);
+            }
+        }
+    }
+
+    /**
+     * Apply only the given slots of a snapshot, e.g. the result of {@link #diff}
+     */
+    public static void apply(Snapshot snapshot, HudModule[] targets, int[] slots) {
+        for (int slot : slots) {
+            applySlot(snapshot, slot, targets[slot]);
+        }
+    }
+
+    private static void applySlot(Snapshot snapshot, int i, HudModule module) {
+        module.setEnabled(snapshot.enabled[i]);
+
+        SettingTable table = snapshot.tables[i];
+        SettingTable live = module.getSettings();
+        long[] values = snapshot.values[i];
+
+        for (int j = 0; j < values.length; j++) {
+            Setting<?> setting = live == table ? live.get(j) : matching(live, table.get(j));
+            if (setting != null) {
+                setting.setBits(values[j]);
+            }
+        }
+    }
+
+    /**
+     * Find the setting in {@code live} with the same name and type, or null.
+     * Only needed when a module was replaced after the snapshot was taken.
+     */
+    private static Setting<?> matching(SettingTable live, Setting<?> setting) {
+        Setting<?> match = live.get(setting.getName());
+        return match != null && match.getType() == setting.getType() ? match : null;
+    }
+
+    /**
+     * Find the slots whose stored state differs from the module it resolved to.
+     * Slots without a registered module are never included.
+     */
+    public static int[] diff(Snapshot snapshot, HudModule[] targets) {
+        int[] changed = new int[targets.length];
+        int count = 0;
+
+        for (int i = 0; i < targets.length; i++) {
+            HudModule module = targets[i];
+            if (module != null && differs(snapshot, i, module)) {
+                changed[count++] = i;
+            }
+        }
+        return Arrays.copyOf(changed, count);
+    }
+
+    private static boolean differs(Snapshot snapshot, int i, HudModule module) {
+        if (module.isEnabled() != snapshot.enabled[i]) return true;
+
+        SettingTable table = snapshot.tables[i];
+        SettingTable live = module.getSettings();
+        long[] values = snapshot.values[i];
+
+        for (int j = 0; j < values.length; j++) {
+            Setting<?> setting = live == table ? live.get(j) : matching(live, table.get(j));
+            if (setting != null && setting.getBits() != values[j]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the snapshot carries a GUI keybind different from the given one
+     */
+    public static boolean guiKeybindDiffers(Snapshot snapshot, Keybind guiKeybind) {
+        return snapshot.hasGuiKeybind && snapshot.guiKeybind != guiKeybind.toBits();
+    }
+
+    public static void applyGuiKeybind(Snapshot snapshot, Keybind guiKeybind) {
+        if (snapshot.hasGuiKeybind) {
+            guiKeybind.setBits(snapshot.guiKeybind);
+        }
+    }
+
+    // === Binary ===
+
+    /**
+     * Serialize a full snapshot in the compact binary form, stamped with
+     * the size and CRC32C of the JSON file written from the same snapshot
+     */
+    public static void writeBinary(Snapshot snapshot, long jsonSize, long jsonChecksum, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(BINARY_MAGIC);
+        data.writeShort(BINARY_VERSION);
+        data.writeLong(jsonSize);
+        data.writeLong(jsonChecksum);
+        data.writeLong(snapshot.guiKeybind);
+
+        data.writeInt(snapshot.names.length);
+        for (int i = 0; i < snapshot.names.length; i++) {
+            SettingTable table = snapshot.tables[i];
+            long[] values = snapshot.values[i];
+
+            data.writeUTF(snapshot.names[i]);
+            data.writeBoolean(snapshot.enabled[i]);
+            data.writeShort(values.length);
+            for (int j = 0; j < values.length; j++) {
+                Setting<?> setting = table.get(j);
+                data.writeUTF(setting.getName());
+                data.writeByte(setting.getType().ordinal());
+                data.writeLong(values[j]);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Read the binary form and apply it to the GUI keybind and modules
+     *
+     * Learning Note: A file's modification time only has the resolution
+     * the file system gives it, so an edit made in the same second (or
+     * copied over with its old time kept) can look no newer than the
+     * binary. Instead the binary must have been written from exactly the
+     * JSON that is on disk now: same size and same checksum.
+     *
+     * @return false if the data isn't a binary config of the current
+     *         format, or was written from a different parsec.json
+     */
+    public static boolean readBinary(InputStream in, long jsonSize, long jsonChecksum, Keybind guiKeybind,
+                                     Function<String, HudModule> modules) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != BINARY_MAGIC || data.readShort() != BINARY_VERSION) {
+            return false;
+        }
+        if (data.readLong() != jsonSize || data.readLong() != jsonChecksum) {
+            return false;
+        }
+
+        guiKeybind.setBits(data.readLong());
+
+        int count = data.readInt();
+        for (int i = 0; i < count; i++) {
+            HudModule module = modules.apply(data.readUTF());
+            boolean enabled = data.readBoolean();
+            SettingTable table = module == null ? SettingTable.EMPTY : module.getSettings();
+
+            int settingCount = data.readUnsignedShort();
+            for (int j = 0; j < settingCount; j++) {
+                Setting<?> setting = table.get(data.readUTF());
+                int type = data.readUnsignedByte();
+                long bits = data.readLong();
+
+                if (setting != null && setting.getType().ordinal() == type) {
+                    setting.setBits(bits);
+                }
+            }
+
+            if (module != null) {
+                module.setEnabled(enabled);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The saved entry of a module that isn't constructed, as compact JSON.
+     *
+     * Learning Note: Immutable, so it can be shared between the watcher,
+     * writer and client threads. Whether the module is enabled or bound
+     * is worked out once, while the entry is scanned.
+     */
+    public static final class SavedEntry {
+        /**
+         * Entry of a module left at its defaults
+         */
+        public static final SavedEntry DISABLED = new SavedEntry("{\"enabled\":false}", false);
+
+        private final String json;
+        private final boolean active;
+
+        private SavedEntry(String json, boolean active) {
+            this.json = json;
+            this.active = active;
+        }
+
+        /**
+         * Whether the entry is enabled or has a keybind bound.
+         * Such a module has to exist from startup.
+         */
+        public boolean isActive() {
+            return active;
+        }
+
+        private JsonReader reader() {
+            return new JsonReader(new StringReader(json));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SavedEntry other && json.equals(other.json);
+        }
+
+        @Override
+        public int hashCode() {
+            return json.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return json;
+        }
+    }
+
+    /**
+     * Detached copy of config state, safe to serialize on another thread.
+     *
+     * Learning Note: One slot per module, holding the module's setting
+     * table (which never changes) and its values as raw bits - so
+     * capturing it on the render thread is a handful of array copies.
+     */
+    public static final class Snapshot {
+        private boolean hasGuiKeybind;
+        private long guiKeybind = UNBOUND_KEYBIND;
+        private final String[] names;
+        private final boolean[] enabled;
+        private final SettingTable[] tables;
+        private final long[][] values;
+
+        private Snapshot(int size) {
+            names = new String[size];
+            enabled = new boolean[size];
+            tables = new SettingTable[size];
+            values = new long[size][];
+        }
+
+        private Snapshot resize(int size) {
+            Snapshot resized = new Snapshot(size);
+            int n = Math.min(size, names.length);
+            resized.hasGuiKeybind = hasGuiKeybind;
+            resized.guiKeybind = guiKeybind;
+            System.arraycopy(names, 0, resized.names, 0, n);
+            System.arraycopy(enabled, 0, resized.enabled, 0, n);
+            System.arraycopy(tables, 0, resized.tables, 0, n);
+            System.arraycopy(values, 0, resized.values, 0, n);
+            return resized;
+        }
+
+        /**
+         * Number of modules in this snapshot
+         */
+        public int size() {
+            return names.length;
+        }
+    }
+}
@@ -1,175 +1,440 @@
 package me.ludens.parsec.config;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import me.ludens.parsec.Parsec;
 import me.ludens.parsec.input.InputHandler;
 import me.ludens.parsec.systems.HudModule;
 import me.ludens.parsec.systems.ModuleManager;
-import me.ludens.parsec.utils.Keybind;
 import net.fabricmc.loader.api.FabricLoader;
 
-import java.io.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Handles saving and loading configuration.
  * UPDATED to work with the new Keybind system (similar to Meteor Client)
+ *
+ * Learning Note: parsec.json is the human-editable config. Next to it we
+ * keep parsec.bin, a compact binary copy that loads faster at startup.
+ * It records the size and checksum of the parsec.json it was written
+ * with, and is only used while they still match, so hand edits to
+ * parsec.json always win. Start with -Dparsec.noBinaryConfig=true
+ * to turn the binary copy off.
+ *
+ * Saving is incremental: only modules marked dirty are written, as one
+ * line each in parsec.journal. Once enough records pile up (and on
+ * shutdown) everything is compacted back into parsec.json. Loading
+ * reads parsec.json and then replays the journal on top.
+ *
+ * While the game runs, ConfigWatcher picks up outside edits to parsec.json.
+ *
+ * Modules that are disabled and unbound in the saved config aren't
+ * constructed at startup (see ModuleManager). Their saved entries are
+ * kept as compact JSON strings (see ConfigCodec.scanModules()), applied when the module is first constructed, and
+ * written back unchanged until then. Modules unregistered at runtime
+ * (or not registered this session) keep their entry the same way.
  */
 public class ConfigManager {
-    private static final Gson GSON = new GsonBuilder()
-            .setPrettyPrinting()
-            .create();
-    
-    private static final Path CONFIG_DIR = FabricLoader.getInstance().getConfigDir();
-    private static final File CONFIG_FILE = CONFIG_DIR.resolve("parsec.json").toFile();
+    private static final boolean BINARY_CACHE = !Boolean.getBoolean("parsec.noBinaryConfig");
 
+    // Journal records written before the next compaction into parsec.json
+    private static final int COMPACT_AFTER = 64;
+
+    static final Path CONFIG_DIR = FabricLoader.getInstance().getConfigDir();
+    static final Path CONFIG_FILE = CONFIG_DIR.resolve("parsec.json");
+    private static final Path BINARY_FILE = CONFIG_DIR.resolve("parsec.bin");
+    private static final Path JOURNAL_FILE = CONFIG_DIR.resolve("parsec.journal");
+    // Shared with ProfileManager so all config I/O runs in one ordered queue
+    static final ConfigWriter WRITER = new ConfigWriter(JOURNAL_FILE);
+
+    // Key used for the GUI keybind's journal record (module names can't be empty)
+    private static final String GUI_KEYBIND_RECORD = "";
+
+    // Saved entries of modules that aren't constructed: not used yet, or
+    // not registered right now. Concurrent so it can be iterated while
+    // constructing a module removes that module's entry.
+    private static final Map<String, ConfigCodec.SavedEntry> unloaded = new ConcurrentHashMap<>();
+
+    // An unregistered module had unsaved changes; only a compaction writes them
+    private static volatile boolean unloadedDirty = false;
+
+    private static int journalRecords = 0;
+    private static boolean guiKeybindDirty = false;
+    private static boolean trackingGuiKeybind = false;
+
+    /**
+     * Save whatever changed since the last save.
+     *
+     * Learning Note: This only takes a snapshot of the dirty modules
+     * (cheap); serializing and writing happen on the ConfigWriter thread.
+     */
     public static void save() {
         try {
-            ConfigData data = new ConfigData();
-
-            // Save GUI keybind
-            Keybind guiKeybind = InputHandler.getGuiKeybind();
-            data.guiKeybind = new KeybindData(guiKeybind);
-
-            // Save each module's settings
-            for (HudModule module : ModuleManager.INSTANCE.getModules()) {
-                ModuleConfig config = new ModuleConfig();
-                config.enabled = module.isEnabled();
-                config.x = module.getX();
-                config.y = module.getY();
-                config.backgroundColor = module.getBackgroundColor();
-                config.textColor = module.getTextColor();
-                
-                // Save module keybind using our new system
-                config.keybind = new KeybindData(module.getKeybind());
-
-                data.modules.put(module.getName(), config);
+            List<HudModule> dirty = new ArrayList<>();
+            for (HudModule module : ModuleManager.INSTANCE.getLoadedModules()) {
+                if (module.isDirty()) {
+                    dirty.add(module);
+                }
+            }
+            if (dirty.isEmpty() && !guiKeybindDirty && !unloadedDirty) return;
+
+            if (unloadedDirty || journalRecords + dirty.size() >= COMPACT_AFTER) {
+                compact();
+                return;
             }
 
-            // Ensure config directory exists
-            if (!CONFIG_DIR.toFile().exists()) {
-                CONFIG_DIR.toFile().mkdirs();
+            for (HudModule module : dirty) {
+                ConfigCodec.Snapshot record = ConfigCodec.captureModules(List.of(module));
+                WRITER.append(module.getName(), writer -> ConfigCodec.writeJsonLine(record, writer));
+                module.clearDirty();
+                journalRecords++;
             }
 
-            // Write to file
-            try (FileWriter writer = new FileWriter(CONFIG_FILE)) {
-                GSON.toJson(data, writer);
+            if (guiKeybindDirty) {
+                ConfigCodec.Snapshot record = ConfigCodec.captureGuiKeybind(InputHandler.getGuiKeybind());
+                WRITER.append(GUI_KEYBIND_RECORD, writer -> ConfigCodec.writeJsonLine(record, writer));
+                guiKeybindDirty = false;
+                journalRecords++;
             }
-            
-            Parsec.LOGGER.info("Config saved successfully");
         } catch (Exception e) {
             Parsec.LOGGER.error("Failed to save config", e);
         }
     }
 
+    /**
+     * Write the full config and clear the journal
+     */
+    public static void compact() {
+        ConfigCodec.Snapshot snapshot = ConfigCodec.capture(
+            InputHandler.getGuiKeybind(),
+            ModuleManager.INSTANCE.getLoadedModules()
+        );
+        Map<String, ConfigCodec.SavedEntry> unloadedEntries = new LinkedHashMap<>(unloaded);
+
+        // Payloads run in order on the writer thread; the binary copy is
+        // stamped with the JSON bytes written just before it
+        AtomicReference<byte[]> json = new AtomicReference<>();
+
+        Map<Path, ConfigWriter.Payload> files = new LinkedHashMap<>();
+        files.put(CONFIG_FILE, out -> {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+            ConfigCodec.writeJson(snapshot, unloadedEntries, writer);
+            bytes.writeTo(out);
+            json.set(bytes.toByteArray());
+        });
+        // The binary cache only holds constructed modules; the others are read from parsec.json
+        if (BINARY_CACHE) {
+            files.put(BINARY_FILE, out -> {
+                byte[] written = json.get();
+                if (written == null) throw new IOException("parsec.json wasn't written");
+                ConfigCodec.writeBinary(snapshot, written.length, ConfigWriter.checksum(written), out);
+            });
+        }
+        WRITER.compact(files);
+
+        clearDirty();
+        unloadedDirty = false;
+        journalRecords = 0;
+    }
+
+    /**
+     * Compact and write everything immediately. Called when the client shuts down.
+     */
+    public static void flush() {
+        if (journalRecords > 0 || unloadedDirty || hasDirty()) {
+            compact();
+        }
+        WRITER.flush();
+    }
+
     public static void load() {
-        if (!CONFIG_FILE.exists()) {
+        ModuleManager.INSTANCE.addLoadListener(ConfigManager::onModuleLoaded);
+        ModuleManager.INSTANCE.addUnregisterListener(ConfigManager::onModuleUnregistered);
+        ModuleManager.INSTANCE.addChangeListener(ConfigManager::onModulesChanged);
+        scanUnloaded();
+
+        if (Files.exists(CONFIG_FILE)) {
+            if (BINARY_CACHE && loadBinary()) {
+                Parsec.LOGGER.info("Config loaded successfully (binary)");
+            } else {
+                loadJson();
+            }
+        } else {
             Parsec.LOGGER.info("No config file found, using defaults");
-            return;
         }
 
-        try (FileReader reader = new FileReader(CONFIG_FILE)) {
-            ConfigData data = GSON.fromJson(reader, ConfigData.class);
-            if (data == null) {
+        loadJournal();
+
+        // Everything now matches what's on disk
+        clearDirty();
+        trackGuiKeybind();
+    }
+
+    private static void loadJson() {
+        try (Reader reader = Files.newBufferedReader(CONFIG_FILE, StandardCharsets.UTF_8)) {
+            boolean loaded = ConfigCodec.readJson(
+                reader,
+                InputHandler.getGuiKeybind(),
+                ModuleManager.INSTANCE::getLoadedModule
+            );
+            if (!loaded) {
                 Parsec.LOGGER.warn("Config file is empty or invalid");
                 return;
             }
 
-            // Load GUI keybind
-            if (data.guiKeybind != null) {
-                InputHandler.setGuiKeybind(
-                    data.guiKeybind.isKey,
-                    data.guiKeybind.value,
-                    data.guiKeybind.modifiers
+            Parsec.LOGGER.info("Config loaded successfully");
+        } catch (Exception e) {
+            Parsec.LOGGER.error("Failed to load config", e);
+        }
+    }
+
+    /**
+     * Load parsec.bin if it was written from the parsec.json on disk
+     */
+    private static boolean loadBinary() {
+        try {
+            if (!Files.exists(BINARY_FILE)) return false;
+
+            // Reading the bytes is cheap; parsing them is what the binary copy saves
+            byte[] json = Files.readAllBytes(CONFIG_FILE);
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(BINARY_FILE))) {
+                return ConfigCodec.readBinary(
+                    in,
+                    json.length,
+                    ConfigWriter.checksum(json),
+                    InputHandler.getGuiKeybind(),
+                    ModuleManager.INSTANCE::getLoadedModule
                 );
             }
+        } catch (Exception e) {
+            Parsec.LOGGER.warn("Ignoring unreadable binary config, falling back to JSON", e);
+            return false;
+        }
+    }
 
-            // Load each module's settings
-            for (HudModule module : ModuleManager.INSTANCE.getModules()) {
-                ModuleConfig config = data.modules.get(module.getName());
-                if (config != null) {
-                    module.setEnabled(config.enabled);
-                    module.setX(config.x);
-                    module.setY(config.y);
-                    module.setBackgroundColor(config.backgroundColor);
-                    module.setTextColor(config.textColor);
-
-                    // Restore keybind
-                    if (config.keybind != null) {
-                        module.getKeybind().set(
-                            config.keybind.isKey,
-                            config.keybind.value,
-                            config.keybind.modifiers
-                        );
-                    }
+    /**
+     * Find saved modules that haven't been constructed. Those that are
+     * enabled or bound are constructed now (the normal load then fills
+     * them in); the rest keep their saved entry until first used.
+     */
+    private static void scanUnloaded() {
+        Map<String, ConfigCodec.SavedEntry> saved = new LinkedHashMap<>();
+        try {
+            if (Files.exists(CONFIG_FILE)) {
+                try (Reader reader = Files.newBufferedReader(CONFIG_FILE, StandardCharsets.UTF_8)) {
+                    saved = ConfigCodec.scanModules(reader);
+                }
+            }
+            if (Files.exists(JOURNAL_FILE)) {
+                try (BufferedReader reader = Files.newBufferedReader(JOURNAL_FILE, StandardCharsets.UTF_8)) {
+                    ConfigCodec.scanJournal(reader, saved);
                 }
             }
+        } catch (Exception e) {
+            // Without the saved entries we can't defer anything safely
+            Parsec.LOGGER.error("Failed to scan config, constructing all modules", e);
+            ModuleManager.INSTANCE.getModules();
+            return;
+        }
 
-            Parsec.LOGGER.info("Config loaded successfully");
+        updateUnloaded(saved);
+        Parsec.LOGGER.info("Constructed {} of {} saved modules at startup",
+            saved.size() - unloaded.size(), saved.size());
+    }
+
+    /**
+     * Take saved entries for modules that aren't constructed, and
+     * construct the ones that are enabled or bound
+     */
+    private static void updateUnloaded(Map<String, ConfigCodec.SavedEntry> saved) {
+        for (Map.Entry<String, ConfigCodec.SavedEntry> entry : saved.entrySet()) {
+            String name = entry.getKey();
+            if (!isUnloaded(name)) continue;
+
+            unloaded.put(name, entry.getValue());
+            if (entry.getValue().isActive()) {
+                // onModuleLoaded applies the entry
+                ModuleManager.INSTANCE.getModuleByName(name);
+            }
+        }
+    }
+
+    private static boolean isUnloaded(String name) {
+        return ModuleManager.INSTANCE.getLoadedModule(name) == null;
+    }
+
+    /**
+     * Apply the saved entry of a module that was just constructed
+     */
+    private static void onModuleLoaded(HudModule module) {
+        ConfigCodec.SavedEntry entry = unloaded.remove(module.getName());
+        if (entry == null) return;
+
+        try {
+            ConfigCodec.applyModule(entry, module);
         } catch (Exception e) {
-            Parsec.LOGGER.error("Failed to load config", e);
+            Parsec.LOGGER.error("Failed to apply saved config of {}", module.getName(), e);
         }
+        module.clearDirty();
     }
 
     /**
-     * Reset all settings to defaults
+     * Keep the state of a module that is being unregistered, so it comes
+     * back the same when registered again (e.g. on the next join of a
+     * server an addon registers it for)
      */
-    public static void reset() {
-        if (CONFIG_FILE.exists()) {
-            CONFIG_FILE.delete();
+    private static void onModuleUnregistered(HudModule module) {
+        try {
+            unloaded.put(module.getName(), ConfigCodec.captureEntry(module));
+            if (module.isDirty()) unloadedDirty = true;
+        } catch (Exception e) {
+            Parsec.LOGGER.error("Failed to keep config of unregistered module {}", module.getName(), e);
         }
-        
-        for (HudModule module : ModuleManager.INSTANCE.getModules()) {
-            module.setEnabled(false);
-            module.setBackgroundColor(0xAA000000);
-            module.setTextColor(0xFFFFFFFF);
-            module.getKeybind().clear();
+    }
+
+    /**
+     * Modules registered at runtime whose saved entry is enabled or bound
+     * are constructed right away, like they would be at startup
+     */
+    private static void onModulesChanged() {
+        for (Map.Entry<String, ConfigCodec.SavedEntry> entry : unloaded.entrySet()) {
+            if (ModuleManager.INSTANCE.isRegistered(entry.getKey()) && entry.getValue().isActive()) {
+                // onModuleLoaded applies the entry
+                ModuleManager.INSTANCE.getModuleByName(entry.getKey());
+            }
         }
-        
-        Parsec.LOGGER.info("Config reset to defaults");
     }
 
     /**
-     * Data classes for JSON serialization
-     * 
-     * Learning Note: These simple POJOs (Plain Old Java Objects) are
-     * automatically converted to/from JSON by GSON.
+     * Saved entry of a module that isn't constructed, or null
+     */
+    static ConfigCodec.SavedEntry getUnloadedEntry(String name) {
+        return unloaded.get(name);
+    }
+
+    /**
+     * Replace the saved entry of a module that isn't constructed, e.g.
+     * when a profile is applied. It's applied once the module is
+     * constructed, and written on the next compaction.
+     */
+    static void setUnloadedEntry(String name, ConfigCodec.SavedEntry entry) {
+        if (entry.equals(unloaded.put(name, entry))) return;
+        unloadedDirty = true;
+    }
+
+    /**
+     * Whether an edited config changes the saved entries of modules that
+     * aren't constructed. Called by ConfigWatcher on the client thread.
+     */
+    static boolean unloadedDiffers(Map<String, ConfigCodec.SavedEntry> saved) {
+        int count = 0;
+        for (Map.Entry<String, ConfigCodec.SavedEntry> entry : saved.entrySet()) {
+            if (!isUnloaded(entry.getKey())) continue;
+            if (!entry.getValue().equals(unloaded.get(entry.getKey()))) return true;
+            count++;
+        }
+        return count != unloaded.size();
+    }
+
+    /**
+     * Apply changes saved since the last compaction
      */
-    private static class ConfigData {
-        KeybindData guiKeybind;
-        Map<String, ModuleConfig> modules = new HashMap<>();
+    private static void loadJournal() {
+        if (!Files.exists(JOURNAL_FILE)) return;
+
+        try (BufferedReader reader = Files.newBufferedReader(JOURNAL_FILE, StandardCharsets.UTF_8)) {
+            journalRecords = ConfigCodec.replayJournal(
+                reader,
+                InputHandler.getGuiKeybind(),
+                ModuleManager.INSTANCE::getLoadedModule
+            );
+            Parsec.LOGGER.info("Replayed {} config journal records", journalRecords);
+        } catch (Exception e) {
+            Parsec.LOGGER.error("Failed to read config journal", e);
+        }
     }
 
-    private static class ModuleConfig {
-        boolean enabled;
-        int x, y;
-        int backgroundColor;
-        int textColor;
-        KeybindData keybind;
+    /**
+     * Apply an external edit of parsec.json found by ConfigWatcher.
+     * Runs on the client thread with only the modules that changed.
+     */
+    static void applyExternal(ConfigCodec.Snapshot snapshot, HudModule[] targets, int[] changed,
+                              boolean guiKeybindChanged, Map<String, ConfigCodec.SavedEntry> saved) {
+        ConfigCodec.apply(snapshot, targets, changed);
+        if (guiKeybindChanged) {
+            ConfigCodec.applyGuiKeybind(snapshot, InputHandler.getGuiKeybind());
+        }
+
+        // Modules removed from the file go back to defaults when constructed
+        unloaded.keySet().removeIf(name -> !saved.containsKey(name));
+        updateUnloaded(saved);
+
+        // The edited file is now the newest state; anything queued or
+        // journaled from before it must not be written over it
+        WRITER.discard(CONFIG_FILE, BINARY_FILE);
+        clearDirty();
+        journalRecords = 0;
+
+        Parsec.LOGGER.info("Reloaded {} modules from edited config", changed.length);
     }
 
     /**
-     * Serializable keybind data
-     * 
-     * Learning Note: This class represents a keybind in a way that
-     * can be easily saved to JSON and loaded back.
+     * Reset all settings to defaults
      */
-    private static class KeybindData {
-        boolean isKey;
-        int value;
-        int modifiers;
-
-        // Default constructor for GSON
-        public KeybindData() {}
-
-        // Constructor from Keybind object
-        public KeybindData(Keybind keybind) {
-            this.isKey = keybind.isKey();
-            this.value = keybind.getValue();
-            this.modifiers = keybind.getModifiers();
+    public static void reset() {
+        try {
+            WRITER.deleteAll(CONFIG_FILE, BINARY_FILE);
+        } catch (Exception e) {
+            Parsec.LOGGER.error("Failed to delete config", e);
+        }
+
+        for (HudModule module : ModuleManager.INSTANCE.getLoadedModules()) {
+            module.setEnabled(false);
+            module.getSettings().resetAll();
+        }
+        unloaded.clear();
+        unloadedDirty = false;
+
+        // Defaults are what you get without a config file
+        clearDirty();
+        journalRecords = 0;
+
+        Parsec.LOGGER.info("Config reset to defaults");
+    }
+
+    private static void trackGuiKeybind() {
+        if (trackingGuiKeybind) return;
+        trackingGuiKeybind = true;
+        InputHandler.getGuiKeybind().addListener((keybind, oldIsKey, oldValue, oldModifiers) -> guiKeybindDirty = true);
+    }
+
+    private static boolean hasDirty() {
+        if (guiKeybindDirty) return true;
+        for (HudModule module : ModuleManager.INSTANCE.getLoadedModules()) {
+            if (module.isDirty()) return true;
+        }
+        return false;
+    }
+
+    private static void clearDirty() {
+        guiKeybindDirty = false;
+        for (HudModule module : ModuleManager.INSTANCE.getLoadedModules()) {
+            module.clearDirty();
         }
     }
 }
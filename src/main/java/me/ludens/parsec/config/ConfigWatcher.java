@@ -0,0 +1,171 @@
+package me.ludens.parsec.config;
+
+import me.ludens.parsec.Parsec;
+import me.ludens.parsec.input.InputHandler;
+import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.systems.ModuleManager;
+import net.minecraft.client.MinecraftClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads parsec.json when something else edits it (e.g. a deploy script).
+ *
+ * Learning Note: A background thread blocks on a WatchService for the
+ * config directory. Editors and scripts often write a file in several
+ * steps, so after the first event we wait until the directory has been
+ * quiet for DEBOUNCE_MS before reading it.
+ *
+ * Reading the file and parsing it into a snapshot happen on the watcher
+ * thread. Comparing it with the live modules and applying it happen on
+ * the client thread, the only thread that may read or change module
+ * settings, and only the modules that actually changed are touched.
+ * Our own saves are skipped by comparing the file's checksum with the
+ * last content ConfigWriter wrote.
+ */
+public class ConfigWatcher {
+    private static final long DEBOUNCE_MS = 200;
+
+    private static final Path CONFIG_FILE = ConfigManager.CONFIG_FILE;
+
+    private static WatchService watchService;
+    private static Thread thread;
+
+    /**
+     * Start watching the config directory. Called once at startup, after the config is loaded.
+     */
+    public static void start() {
+        if (thread != null) return;
+
+        try {
+            Path dir = CONFIG_FILE.getParent();
+            Files.createDirectories(dir);
+            watchService = dir.getFileSystem().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            Parsec.LOGGER.error("Failed to watch config directory, hot reload disabled", e);
+            return;
+        }
+
+        thread = new Thread(ConfigWatcher::run, "Parsec Config Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop watching. Called when the client shuts down.
+     */
+    public static void stop() {
+        if (thread == null) return;
+
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            Parsec.LOGGER.warn("Failed to close config watcher", e);
+        }
+        thread.interrupt();
+        thread = null;
+    }
+
+    private static void run() {
+        try {
+            while (true) {
+                boolean changed = drain(watchService.take());
+
+                // Keep collecting events until the directory goes quiet
+                WatchKey key;
+                while ((key = watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(key);
+                }
+
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * @return true if any of the key's events touched parsec.json
+     */
+    private static boolean drain(WatchKey key) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // On overflow we don't know what changed, so check anyway
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || CONFIG_FILE.getFileName().equals(event.context())) {
+                touched = true;
+            }
+        }
+        key.reset();
+        return touched;
+    }
+
+    private static void reload() {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(CONFIG_FILE);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            Parsec.LOGGER.warn("Failed to read edited config", e);
+            return;
+        }
+
+        if (ConfigManager.WRITER.isOwnWrite(CONFIG_FILE, ConfigWriter.checksum(content))) {
+            return;
+        }
+
+        ConfigCodec.Snapshot snapshot;
+        Map<String, ConfigCodec.SavedEntry> saved;
+        try {
+            // Only modules that exist are diffed; the rest keep their entry as JSON
+            snapshot = ConfigCodec.readSnapshot(
+                new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8),
+                ModuleManager.INSTANCE::getLoadedModule
+            );
+            saved = ConfigCodec.scanModules(
+                new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)
+            );
+        } catch (IOException | RuntimeException e) {
+            // Probably caught mid-write; the next event will try again
+            Parsec.LOGGER.warn("Ignoring unreadable config edit: {}", e.getMessage());
+            return;
+        }
+        if (snapshot == null) return;
+
+        MinecraftClient.getInstance().execute(() -> apply(snapshot, saved));
+    }
+
+    /**
+     * Diff a parsed edit against the live modules and apply what changed.
+     * Runs on the client thread.
+     */
+    private static void apply(ConfigCodec.Snapshot snapshot, Map<String, ConfigCodec.SavedEntry> saved) {
+        HudModule[] targets = ConfigCodec.resolve(snapshot, ModuleManager.INSTANCE::getLoadedModule);
+        int[] changed = ConfigCodec.diff(snapshot, targets);
+        boolean guiKeybindChanged = ConfigCodec.guiKeybindDiffers(snapshot, InputHandler.getGuiKeybind());
+
+        if (changed.length == 0 && !guiKeybindChanged && !ConfigManager.unloadedDiffers(saved)) {
+            Parsec.LOGGER.debug("Config edited, but nothing changed");
+            return;
+        }
+
+        ConfigManager.applyExternal(snapshot, targets, changed, guiKeybindChanged, saved);
+    }
+}
@@ -0,0 +1,269 @@
+package me.ludens.parsec.config;
+
+import me.ludens.parsec.Parsec;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
+
+/**
+ * Writes config files on a background thread.
+ *
+ * Learning Note: Saving used to happen on the render thread, so a slow
+ * disk meant a frame hitch on every click. Now callers just hand over a
+ * snapshot and return immediately. Requests that arrive within a short
+ * window are coalesced - only the newest snapshot of each file or record
+ * gets written.
+ *
+ * There are two kinds of writes:
+ * - Full files (parsec.json, parsec.bin) go to a temp file that is
+ *   flushed to disk and then atomically renamed over the real one, so a
+ *   crash mid-write never leaves a half-written config.
+ * - Journal records (one changed module each) are appended to a journal
+ *   file. A compaction writes the full files and then empties the journal.
+ *
+ * Everything runs in submission order on one thread, so the journal is
+ * never truncated before the full files covering it are on disk.
+ */
+class ConfigWriter {
+    private static final long COALESCE_MS = 250;
+
+    // One background thread shared by every config file we write
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Parsec Config Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Something that can serialize itself into a file
+     */
+    @FunctionalInterface
+    interface Payload {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Something that can serialize itself as journal lines
+     */
+    @FunctionalInterface
+    interface Record {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    private final Path journalFile;
+    private final Object writeLock = new Object();
+
+    // CRC32C of the last content we wrote to each file, so the config
+    // watcher can tell our own writes from external edits
+    private final Map<Path, Long> writtenChecksums = new ConcurrentHashMap<>();
+
+    // Pending work, guarded by "this"
+    private Map<Path, Payload> pendingFiles = new LinkedHashMap<>();
+    private Map<String, Record> pendingRecords = new LinkedHashMap<>();
+    private boolean pendingTruncate = false;
+    private boolean scheduled = false;
+
+    ConfigWriter(Path journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Queue a full file write. Replaces any write still waiting for that file.
+     */
+    synchronized void submit(Path target, Payload payload) {
+        pendingFiles.put(target, payload);
+        schedule();
+    }
+
+    /**
+     * Queue a journal record. Replaces any record with the same key
+     * that hasn't been appended yet.
+     */
+    synchronized void append(String key, Record record) {
+        pendingRecords.remove(key);
+        pendingRecords.put(key, record);
+        schedule();
+    }
+
+    /**
+     * Queue full file writes that replace the journal. Records queued
+     * before this call are dropped; the full snapshot already covers them.
+     */
+    synchronized void compact(Map<Path, Payload> files) {
+        pendingRecords.clear();
+        pendingFiles.putAll(files);
+        pendingTruncate = true;
+        schedule();
+    }
+
+    /**
+     * Write everything pending right now on the calling thread.
+     * Used on shutdown so no change is lost.
+     */
+    void flush() {
+        writePending();
+    }
+
+    /**
+     * Drop everything that hasn't been written yet, then delete the given
+     * files and the journal.
+     *
+     * Learning Note: Holding writeLock waits out a write already running
+     * on the writer thread. Without it, that write could rename its temp
+     * file over a config we just deleted and bring the old one back.
+     */
+    void deleteAll(Path... files) throws IOException {
+        synchronized (writeLock) {
+            synchronized (this) {
+                pendingFiles.clear();
+                pendingRecords.clear();
+                pendingTruncate = false;
+            }
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+                writtenChecksums.remove(file);
+            }
+            Files.deleteIfExists(journalFile);
+        }
+    }
+
+    /**
+     * Drop pending writes to the given files and pending journal records,
+     * and empty the journal. Used when an external edit replaced the config,
+     * so nothing queued from the old state may overwrite it.
+     */
+    synchronized void discard(Path... files) {
+        for (Path file : files) {
+            pendingFiles.remove(file);
+        }
+        pendingRecords.clear();
+        pendingTruncate = true;
+        schedule();
+    }
+
+    /**
+     * Whether the given checksum matches the last content we wrote to a file
+     */
+    boolean isOwnWrite(Path file, long checksum) {
+        Long written = writtenChecksums.get(file);
+        return written != null && written == checksum;
+    }
+
+    /**
+     * Checksum used by {@link #isOwnWrite}, for content read back from disk
+     */
+    static long checksum(byte[] content) {
+        Checksum checksum = new CRC32C();
+        checksum.update(content, 0, content.length);
+        return checksum.getValue();
+    }
+
+    private void schedule() {
+        // Only the first request in a window schedules a write;
+        // later ones just add to or replace the pending work
+        if (!scheduled) {
+            scheduled = true;
+            EXECUTOR.schedule(this::writePending, COALESCE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void writePending() {
+        synchronized (writeLock) {
+            Map<Path, Payload> files;
+            Map<String, Record> records;
+            boolean truncate;
+
+            synchronized (this) {
+                files = pendingFiles;
+                records = pendingRecords;
+                truncate = pendingTruncate;
+                pendingFiles = new LinkedHashMap<>();
+                pendingRecords = new LinkedHashMap<>();
+                pendingTruncate = false;
+                scheduled = false;
+            }
+
+            boolean filesWritten = true;
+            for (Map.Entry<Path, Payload> entry : files.entrySet()) {
+                try {
+                    writeAtomically(entry.getKey(), entry.getValue());
+                    Parsec.LOGGER.debug("Saved {}", entry.getKey().getFileName());
+                } catch (Exception e) {
+                    filesWritten = false;
+                    Parsec.LOGGER.error("Failed to save {}", entry.getKey().getFileName(), e);
+                }
+            }
+
+            try {
+                // Keep the journal if the full files didn't make it to disk
+                if (truncate && filesWritten) {
+                    Files.deleteIfExists(journalFile);
+                }
+                if (!records.isEmpty()) {
+                    appendRecords(records);
+                }
+            } catch (Exception e) {
+                Parsec.LOGGER.error("Failed to update {}", journalFile.getFileName(), e);
+            }
+        }
+    }
+
+    private void writeAtomically(Path target, Payload payload) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tempFile = target.resolveSibling(target.getFileName() + ".tmp");
+
+        Checksum checksum = new CRC32C();
+        try (FileChannel channel = FileChannel.open(tempFile,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new CheckedOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)), checksum);
+            payload.writeTo(out);
+            out.flush();
+
+            // The rename only replaces the old file atomically if the new
+            // content is on disk first; otherwise a power cut right after
+            // it can leave an empty or partial config behind
+            channel.force(true);
+        }
+
+        // Recorded before the rename so the watcher can't see the file first
+        writtenChecksums.put(target, checksum.getValue());
+
+        try {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void appendRecords(Map<String, Record> records) throws IOException {
+        Files.createDirectories(journalFile.getParent());
+
+        try (Writer writer = new OutputStreamWriter(new BufferedOutputStream(Files.newOutputStream(
+                journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)),
+                StandardCharsets.UTF_8)) {
+            for (Record record : records.values()) {
+                record.writeTo(writer);
+            }
+        }
+    }
+}
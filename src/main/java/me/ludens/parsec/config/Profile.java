@@ -0,0 +1,124 @@
+package me.ludens.parsec.config;
+
+import me.ludens.parsec.Parsec;
+import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.systems.ModuleManager;
+import me.ludens.parsec.utils.Keybind;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A named HUD layout that can be switched to at any time.
+ *
+ * Learning Note: The profile file is parsed once at startup into a
+ * ConfigCodec.Snapshot (plain arrays), and the modules each slot belongs
+ * to are looked up once and cached. Switching is then a single loop of
+ * setter calls - no disk access and no JSON parsing.
+ *
+ * Only constructed modules get a slot in the snapshot. Entries for the
+ * others stay compact JSON, like ConfigManager keeps them: switching
+ * constructs those the profile enables or binds, and hands the rest to
+ * ConfigManager to apply whenever the module is first used.
+ */
+public class Profile {
+    private final String name;
+    private final Keybind keybind;
+    private ConfigCodec.Snapshot state;
+
+    // Entries of modules that weren't constructed when the state was read or captured
+    private Map<String, ConfigCodec.SavedEntry> deferred;
+
+    // Modules for each snapshot slot, resolved against this registry list
+    private HudModule[] targets = null;
+    private List<HudModule> resolvedFor = null;
+
+    Profile(String name, Keybind keybind, ConfigCodec.Snapshot state, Map<String, ConfigCodec.SavedEntry> deferred) {
+        this.name = name;
+        this.keybind = keybind;
+        this.state = state;
+        this.deferred = deferred;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Keybind that switches to this profile
+     */
+    public Keybind getKeybind() {
+        return keybind;
+    }
+
+    ConfigCodec.Snapshot getState() {
+        return state;
+    }
+
+    /**
+     * Saved entries of modules without a slot in getState()
+     */
+    Map<String, ConfigCodec.SavedEntry> getDeferred() {
+        return deferred;
+    }
+
+    void setState(ConfigCodec.Snapshot state, Map<String, ConfigCodec.SavedEntry> deferred) {
+        this.state = state;
+        this.deferred = deferred;
+        this.targets = null;
+    }
+
+    /**
+     * Apply this profile to every module in one pass
+     */
+    void apply() {
+        ConfigCodec.Snapshot state = this.state;
+        if (!deferred.isEmpty()) {
+            state = applyDeferred(state);
+        }
+
+        // The registry hands out a new list whenever it changes
+        if (targets == null || resolvedFor != ModuleManager.INSTANCE.getLoadedModules()) {
+            targets = ConfigCodec.resolve(state, ModuleManager.INSTANCE::getLoadedModule);
+            resolvedFor = ModuleManager.INSTANCE.getLoadedModules();
+        }
+        ConfigCodec.apply(state, targets);
+    }
+
+    /**
+     * Give deferred entries to their modules: those that exist now (or
+     * must, being enabled or bound) move into the snapshot, the others
+     * become the module's saved entry in ConfigManager. Entries of
+     * modules that aren't registered are kept for when they are.
+     */
+    private ConfigCodec.Snapshot applyDeferred(ConfigCodec.Snapshot state) {
+        Map<String, ConfigCodec.SavedEntry> ready = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, ConfigCodec.SavedEntry>> it = deferred.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, ConfigCodec.SavedEntry> entry = it.next();
+            String moduleName = entry.getKey();
+            if (!ModuleManager.INSTANCE.isRegistered(moduleName)) continue;
+
+            HudModule module = entry.getValue().isActive()
+                ? ModuleManager.INSTANCE.getModuleByName(moduleName)
+                : ModuleManager.INSTANCE.getLoadedModule(moduleName);
+            if (module == null) {
+                ConfigManager.setUnloadedEntry(moduleName, entry.getValue());
+                continue;
+            }
+            ready.put(moduleName, entry.getValue());
+            it.remove();
+        }
+        if (ready.isEmpty()) return state;
+
+        try {
+            this.state = ConfigCodec.withEntries(state, ready, ModuleManager.INSTANCE::getLoadedModule);
+            targets = null;
+        } catch (Exception e) {
+            Parsec.LOGGER.error("Failed to read profile {}", name, e);
+        }
+        return this.state;
+    }
+}
@@ -0,0 +1,198 @@
+package me.ludens.parsec.config;
+
+import me.ludens.parsec.Parsec;
+import me.ludens.parsec.input.InputHandler;
+import me.ludens.parsec.systems.ModuleEntry;
+import me.ludens.parsec.systems.ModuleManager;
+import me.ludens.parsec.utils.Keybind;
+
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Named config profiles (e.g. "streaming", "recording", "benchmark").
+ *
+ * Learning Note: Each profile lives in config/parsec-profiles/<name>.json
+ * and uses the same module format as parsec.json, plus the keybind that
+ * switches to it. Each profile is read once, at startup; after that,
+ * switching happens entirely in memory. A profile file is only written
+ * when that profile changes - saving the current layout into it or
+ * rebinding its key - never just because it was switched to.
+ *
+ * Switching changes the live modules like any other edit, so the result
+ * is saved through ConfigManager and survives a restart.
+ */
+public class ProfileManager {
+    private static final Path PROFILE_DIR = ConfigManager.CONFIG_DIR.resolve("parsec-profiles");
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    // Sorted by name so the GUI and cycle() have a stable order
+    private static final Map<String, Profile> profiles = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private static List<Profile> profilesView = List.of();
+    private static Profile active = null;
+
+    /**
+     * Read every profile file. Called once at startup, after InputHandler.init().
+     */
+    public static void load() {
+        if (!Files.isDirectory(PROFILE_DIR)) return;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(PROFILE_DIR, "*.json")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String name = fileName.substring(0, fileName.length() - ".json".length());
+                if (!isValidName(name)) {
+                    Parsec.LOGGER.warn("Skipping profile with invalid name: {}", fileName);
+                    continue;
+                }
+                loadProfile(name, file);
+            }
+        } catch (Exception e) {
+            Parsec.LOGGER.error("Failed to list profiles", e);
+        }
+
+        Parsec.LOGGER.info("Loaded {} config profiles", profiles.size());
+    }
+
+    private static void loadProfile(String name, Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            // Modules that aren't constructed yet keep their entry until the profile is applied
+            Keybind keybind = new Keybind();
+            Map<String, ConfigCodec.SavedEntry> deferred = new LinkedHashMap<>();
+            ConfigCodec.Snapshot state = ConfigCodec.readProfile(reader, keybind,
+                ModuleManager.INSTANCE::getLoadedModule, deferred);
+            if (state == null) {
+                Parsec.LOGGER.warn("Profile {} is empty", name);
+                return;
+            }
+            add(new Profile(name, keybind, state, deferred));
+        } catch (Exception e) {
+            Parsec.LOGGER.error("Failed to load profile {}", name, e);
+        }
+    }
+
+    private static void add(Profile profile) {
+        profiles.put(profile.getName(), profile);
+        profilesView = Collections.unmodifiableList(new ArrayList<>(profiles.values()));
+
+        InputHandler.bind(profile.getKeybind(), () -> switchTo(profile));
+        profile.getKeybind().addListener((keybind, oldIsKey, oldValue, oldModifiers) -> write(profile));
+    }
+
+    /**
+     * Switch every module to the given profile's layout
+     */
+    public static void switchTo(Profile profile) {
+        profile.apply();
+        active = profile;
+        ConfigManager.save();
+        Parsec.LOGGER.info("Switched to profile {}", profile.getName());
+    }
+
+    /**
+     * Switch to the profile after the active one, wrapping around.
+     *
+     * @return the new active profile, or null if there are no profiles
+     */
+    public static Profile cycle() {
+        List<Profile> list = profilesView;
+        if (list.isEmpty()) return null;
+
+        int next = active == null ? 0 : (list.indexOf(active) + 1) % list.size();
+        Profile profile = list.get(next);
+        switchTo(profile);
+        return profile;
+    }
+
+    /**
+     * Store the current module layout under a name, creating the profile
+     * if needed, and make it the active profile.
+     *
+     * @return the profile, or null if the name isn't valid
+     */
+    public static Profile saveCurrent(String name) {
+        if (!isValidName(name)) {
+            Parsec.LOGGER.warn("Invalid profile name: '{}'", name);
+            return null;
+        }
+
+        ConfigCodec.Snapshot state = ConfigCodec.captureModules(ModuleManager.INSTANCE.getLoadedModules());
+        Map<String, ConfigCodec.SavedEntry> deferred = captureUnloaded();
+        Profile profile = profiles.get(name);
+        if (profile == null) {
+            profile = new Profile(name, new Keybind(), state, deferred);
+            add(profile);
+        }
+        profile.setState(state, deferred);
+
+        active = profile;
+        write(profile);
+        return profile;
+    }
+
+    /**
+     * Entries for the registered modules that aren't constructed: their
+     * saved entry if they have one, otherwise just disabled (they're at
+     * their defaults)
+     */
+    private static Map<String, ConfigCodec.SavedEntry> captureUnloaded() {
+        Map<String, ConfigCodec.SavedEntry> entries = new LinkedHashMap<>();
+        for (ModuleEntry entry : ModuleManager.INSTANCE.getEntries()) {
+            if (entry.getModule() != null) continue;
+
+            ConfigCodec.SavedEntry saved = ConfigManager.getUnloadedEntry(entry.getName());
+            entries.put(entry.getName(), saved != null ? saved : ConfigCodec.SavedEntry.DISABLED);
+        }
+        return entries;
+    }
+
+    /**
+     * Queue the profile's file for writing. The keybind is copied here
+     * so the writer thread never reads a live object.
+     */
+    private static void write(Profile profile) {
+        Keybind source = profile.getKeybind();
+        Keybind keybind = new Keybind(source.isKey(), source.getValue(), source.getModifiers());
+        ConfigCodec.Snapshot state = profile.getState();
+        Map<String, ConfigCodec.SavedEntry> deferred = new LinkedHashMap<>(profile.getDeferred());
+
+        ConfigManager.WRITER.submit(PROFILE_DIR.resolve(profile.getName() + ".json"), out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            ConfigCodec.writeProfile(state, deferred, keybind, writer);
+        });
+    }
+
+    public static boolean isValidName(String name) {
+        return name != null && VALID_NAME.matcher(name).matches();
+    }
+
+    /**
+     * All profiles, sorted by name
+     */
+    public static List<Profile> getProfiles() {
+        return profilesView;
+    }
+
+    public static Profile getProfile(String name) {
+        return name == null ? null : profiles.get(name);
+    }
+
+    /**
+     * The profile switched to or saved most recently, or null
+     */
+    public static Profile getActive() {
+        return active;
+    }
+}
@@ -0,0 +1,27 @@
+package me.ludens.parsec.events;
+
+/**
+ * Base class for events that listeners can cancel.
+ * 
+ * Learning Note: Once an event is cancelled, the EventBus stops handing
+ * it to lower-priority listeners, and whoever posted it can check
+ * isCancelled() to skip the default behaviour.
+ */
+public abstract class Cancellable {
+    private boolean cancelled = false;
+
+    /**
+     * Cancel this event to prevent further processing
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,254 @@
+package me.ludens.parsec.events;
+
+import me.ludens.parsec.Parsec;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Typed event bus with listener priorities and cancellation.
+ * Similar to Meteor Client's Orbit event bus.
+ * 
+ * Learning Note: Objects subscribe with subscribe(this); every method
+ * annotated with {@link EventHandler} becomes a listener for its
+ * parameter's type. The first time a class is seen we scan it once and
+ * use LambdaMetafactory to generate a real Consumer for each handler,
+ * so posting an event is a plain interface call - no reflection.
+ * 
+ * Events are matched by exact class and the bus is meant to be used
+ * from the client thread only.
+ */
+public class EventBus {
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+    private static final HandlerInfo[] NO_HANDLERS = new HandlerInfo[0];
+
+    // Listeners per event class, sorted by priority (highest first)
+    private final Map<Class<?>, Listener[]> listeners = new HashMap<>();
+
+    // Listeners created for each subscribed object, for fast unsubscribe
+    private final Map<Object, Listener[]> subscribers = new IdentityHashMap<>();
+
+    // Handler scan results per class, computed once
+    private final Map<Class<?>, HandlerInfo[]> handlerCache = new HashMap<>();
+
+    /**
+     * Subscribe all {@link EventHandler} methods of the given object
+     */
+    public void subscribe(Object subscriber) {
+        if (subscribers.containsKey(subscriber)) return;
+
+        HandlerInfo[] handlers = getHandlers(subscriber.getClass());
+        if (handlers.length == 0) {
+            subscribers.put(subscriber, NO_LISTENERS);
+            return;
+        }
+
+        Listener[] created = new Listener[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            HandlerInfo handler = handlers[i];
+            Listener listener = new Listener(handler.eventType, handler.priority, handler.bind(subscriber));
+            created[i] = listener;
+            insert(listener);
+        }
+        subscribers.put(subscriber, created);
+    }
+
+    /**
+     * Remove all listeners belonging to the given object
+     */
+    public void unsubscribe(Object subscriber) {
+        Listener[] created = subscribers.remove(subscriber);
+        if (created == null) return;
+
+        for (Listener listener : created) {
+            remove(listener);
+        }
+    }
+
+    public boolean isSubscribed(Object subscriber) {
+        return subscribers.containsKey(subscriber);
+    }
+
+    /**
+     * Post an event to every listener of its type.
+     * Stops early if a listener cancels a {@link Cancellable} event.
+     * 
+     * @return the same event, for checking isCancelled()
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T post(T event) {
+        Listener[] targets = listeners.get(event.getClass());
+        if (targets == null) return event;
+
+        for (Listener listener : targets) {
+            ((Consumer<T>) listener.consumer).accept(event);
+            if (event instanceof Cancellable cancellable && cancellable.isCancelled()) break;
+        }
+        return event;
+    }
+
+    /**
+     * Check whether anything listens for the given event type.
+     * Lets callers skip building an event nobody will receive.
+     */
+    public boolean hasListeners(Class<?> eventType) {
+        return listeners.containsKey(eventType);
+    }
+
+    private void insert(Listener listener) {
+        Listener[] current = listeners.getOrDefault(listener.eventType, NO_LISTENERS);
+
+        // Equal priorities keep subscription order
+        int pos = 0;
+        while (pos < current.length && current[pos].priority >= listener.priority) {
+            pos++;
+        }
+
+        Listener[] updated = new Listener[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, pos);
+        updated[pos] = listener;
+        System.arraycopy(current, pos, updated, pos + 1, current.length - pos);
+        listeners.put(listener.eventType, updated);
+    }
+
+    private void remove(Listener listener) {
+        Listener[] current = listeners.get(listener.eventType);
+        if (current == null) return;
+
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != listener) continue;
+
+            if (current.length == 1) {
+                listeners.remove(listener.eventType);
+            } else {
+                Listener[] updated = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners.put(listener.eventType, updated);
+            }
+            return;
+        }
+    }
+
+    private HandlerInfo[] getHandlers(Class<?> type) {
+        HandlerInfo[] cached = handlerCache.get(type);
+        if (cached != null) return cached;
+
+        List<HandlerInfo> found = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                EventHandler annotation = method.getAnnotation(EventHandler.class);
+                if (annotation == null) continue;
+
+                if (Modifier.isStatic(method.getModifiers())
+                        || method.getParameterCount() != 1
+                        || method.getReturnType() != void.class) {
+                    Parsec.LOGGER.warn("Ignoring invalid event handler {}.{}", c.getName(), method.getName());
+                    continue;
+                }
+
+                try {
+                    found.add(new HandlerInfo(method, annotation.priority()));
+                } catch (ReflectiveOperationException e) {
+                    Parsec.LOGGER.error("Failed to create event handler {}.{}", c.getName(), method.getName(), e);
+                }
+            }
+        }
+
+        HandlerInfo[] handlers = found.isEmpty() ? NO_HANDLERS : found.toArray(new HandlerInfo[0]);
+        handlerCache.put(type, handlers);
+        return handlers;
+    }
+
+    /**
+     * A subscribed handler: its event type, priority and generated invoker
+     */
+    private static final class Listener {
+        private final Class<?> eventType;
+        private final int priority;
+        private final Consumer<Object> consumer;
+
+        private Listener(Class<?> eventType, int priority, Consumer<Object> consumer) {
+            this.eventType = eventType;
+            this.priority = priority;
+            this.consumer = consumer;
+        }
+    }
+
+    /**
+     * Scan result for one handler method.
+     * 
+     * Learning Note: LambdaMetafactory builds the same kind of class
+     * javac generates for "event -> owner.onTick(event)". We keep the
+     * factory handle and call it once per subscribe to bind the owner.
+     */
+    private static final class HandlerInfo {
+        private final Class<?> eventType;
+        private final int priority;
+        private final MethodHandle factory;
+
+        private HandlerInfo(Method method, int priority) throws ReflectiveOperationException {
+            this.eventType = method.getParameterTypes()[0];
+            this.priority = priority;
+            this.factory = createFactory(method);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Consumer<Object> bind(Object owner) {
+            try {
+                return (Consumer<Object>) factory.invoke(owner);
+            } catch (Throwable t) {
+                throw new IllegalStateException("Failed to bind event handler", t);
+            }
+        }
+
+        private static MethodHandle createFactory(Method method) throws ReflectiveOperationException {
+            Class<?> owner = method.getDeclaringClass();
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            MethodHandle target = lookup.unreflect(method);
+
+            try {
+                CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "accept",
+                    MethodType.methodType(Consumer.class, owner),
+                    MethodType.methodType(void.class, Object.class),
+                    target,
+                    MethodType.methodType(void.class, method.getParameterTypes()[0])
+                );
+                return site.getTarget();
+            } catch (Throwable t) {
+                // Fall back to a bound method handle if the lookup lacks
+                // the access LambdaMetafactory needs (e.g. across modules)
+                MethodHandle generic = target.asType(MethodType.methodType(void.class, Object.class, Object.class));
+                return MethodHandles.lookup()
+                    .findStatic(HandlerInfo.class, "wrap", MethodType.methodType(Consumer.class, MethodHandle.class, Object.class))
+                    .bindTo(generic)
+                    .asType(MethodType.methodType(Consumer.class, Object.class));
+            }
+        }
+
+        @SuppressWarnings("unused")
+        private static Consumer<Object> wrap(MethodHandle handle, Object owner) {
+            MethodHandle bound = handle.bindTo(owner);
+            return event -> {
+                try {
+                    bound.invokeExact(event);
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package me.ludens.parsec.events;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method as an event listener.
+ * 
+ * The method must take exactly one parameter (the event type it listens
+ * for) and return void. Higher priorities run first.
+ * 
+ * Example:
+ * <pre>
+ * {@literal @}EventHandler
+ * private void onTick(TickEvent event) { ... }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface EventHandler {
+    int priority() default EventPriority.MEDIUM;
+}
@@ -0,0 +1,14 @@
+package me.ludens.parsec.events;
+
+/**
+ * Common listener priorities. Any int works; higher runs first.
+ */
+public final class EventPriority {
+    public static final int HIGHEST = 200;
+    public static final int HIGH = 100;
+    public static final int MEDIUM = 0;
+    public static final int LOW = -100;
+    public static final int LOWEST = -200;
+
+    private EventPriority() {}
+}
@@ -0,0 +1,14 @@
+package me.ludens.parsec.events;
+
+/**
+ * Event fired when the client joins a world or server.
+ */
+public class GameJoinedEvent {
+    private static final GameJoinedEvent INSTANCE = new GameJoinedEvent();
+
+    private GameJoinedEvent() {}
+
+    public static GameJoinedEvent get() {
+        return INSTANCE;
+    }
+}
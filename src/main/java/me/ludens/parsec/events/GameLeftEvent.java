@@ -0,0 +1,14 @@
+package me.ludens.parsec.events;
+
+/**
+ * Event fired when the client disconnects from a world or server.
+ */
+public class GameLeftEvent {
+    private static final GameLeftEvent INSTANCE = new GameLeftEvent();
+
+    private GameLeftEvent() {}
+
+    public static GameLeftEvent get() {
+        return INSTANCE;
+    }
+}
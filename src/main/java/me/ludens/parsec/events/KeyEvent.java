@@ -6,15 +6,17 @@ package me.ludens.parsec.events;
  * 
  * Learning Note: This is an event class that carries information about
  * keyboard input. We use a singleton pattern (single instance) for performance.
+ * 
+ * When a listener cancels it, Minecraft never sees the key press. Useful
+ * for custom keybinds that shouldn't trigger game actions.
  */
-public class KeyEvent {
+public class KeyEvent extends Cancellable {
     private static final KeyEvent INSTANCE = new KeyEvent();
     
     private int key;
     private int scancode;
     private int action;
     private int modifiers;
-    private boolean cancelled = false;
 
     /**
      * Private constructor - prevents creating multiple instances
@@ -33,25 +35,10 @@ public class KeyEvent {
         INSTANCE.scancode = scancode;
         INSTANCE.action = action;
         INSTANCE.modifiers = modifiers;
-        INSTANCE.cancelled = false;
+        INSTANCE.setCancelled(false);
         return INSTANCE;
     }
 
-    /**
-     * Cancel this event to prevent further processing
-     * 
-     * Learning Note: When an event is cancelled, we can prevent
-     * Minecraft from processing the key press. Useful for custom
-     * keybinds that shouldn't trigger game actions.
-     */
-    public void cancel() {
-        this.cancelled = true;
-    }
-
-    public boolean isCancelled() {
-        return cancelled;
-    }
-
     public int getKey() {
         return key;
     }
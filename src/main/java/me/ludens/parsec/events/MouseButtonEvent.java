@@ -4,13 +4,12 @@ package me.ludens.parsec.events;
  * Event fired when a mouse button is pressed or released.
  * Similar to Meteor Client's MouseClickEvent.
  */
-public class MouseButtonEvent {
+public class MouseButtonEvent extends Cancellable {
     private static final MouseButtonEvent INSTANCE = new MouseButtonEvent();
     
     private int button;
     private int action;
     private int modifiers;
-    private boolean cancelled = false;
 
     private MouseButtonEvent() {}
 
@@ -18,18 +17,10 @@ public class MouseButtonEvent {
         INSTANCE.button = button;
         INSTANCE.action = action;
         INSTANCE.modifiers = modifiers;
-        INSTANCE.cancelled = false;
+        INSTANCE.setCancelled(false);
         return INSTANCE;
     }
 
-    public void cancel() {
-        this.cancelled = true;
-    }
-
-    public boolean isCancelled() {
-        return cancelled;
-    }
-
     public int getButton() {
         return button;
     }
@@ -0,0 +1,30 @@
+package me.ludens.parsec.events;
+
+import net.minecraft.client.gui.DrawContext;
+
+/**
+ * Event fired every frame while the HUD is drawn, after all enabled
+ * modules have rendered.
+ */
+public class RenderHudEvent {
+    private static final RenderHudEvent INSTANCE = new RenderHudEvent();
+
+    private DrawContext drawContext;
+    private float tickDelta;
+
+    private RenderHudEvent() {}
+
+    public static RenderHudEvent get(DrawContext drawContext, float tickDelta) {
+        INSTANCE.drawContext = drawContext;
+        INSTANCE.tickDelta = tickDelta;
+        return INSTANCE;
+    }
+
+    public DrawContext getDrawContext() {
+        return drawContext;
+    }
+
+    public float getTickDelta() {
+        return tickDelta;
+    }
+}
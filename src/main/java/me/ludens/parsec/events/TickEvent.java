@@ -0,0 +1,14 @@
+package me.ludens.parsec.events;
+
+/**
+ * Event fired at the end of every client tick (20 times per second).
+ */
+public class TickEvent {
+    private static final TickEvent INSTANCE = new TickEvent();
+
+    private TickEvent() {}
+
+    public static TickEvent get() {
+        return INSTANCE;
+    }
+}
@@ -1,295 +1,542 @@
 package me.ludens.parsec.gui;
 
 import me.ludens.parsec.config.ConfigManager;
+import me.ludens.parsec.config.Profile;
+import me.ludens.parsec.config.ProfileManager;
 import me.ludens.parsec.input.InputHandler;
+import me.ludens.parsec.settings.BoolSetting;
+import me.ludens.parsec.settings.ColorSetting;
+import me.ludens.parsec.settings.DoubleSetting;
+import me.ludens.parsec.settings.EnumSetting;
+import me.ludens.parsec.settings.IntSetting;
+import me.ludens.parsec.settings.KeybindSetting;
+import me.ludens.parsec.settings.Setting;
 import me.ludens.parsec.systems.Category;
 import me.ludens.parsec.systems.HudModule;
 import me.ludens.parsec.systems.ModuleManager;
+import me.ludens.parsec.systems.ModuleSearch;
+import me.ludens.parsec.utils.Keybind;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.gui.widget.ClickableWidget;
 import net.minecraft.client.gui.widget.TextFieldWidget;
 import net.minecraft.client.util.InputUtil;
 import net.minecraft.text.Text;
 import org.lwjgl.glfw.GLFW;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration GUI for the mod.
  * UPDATED to work with the new Keybind system (similar to Meteor Client)
- * 
+ *
  * Learning Note: Now supports binding mouse buttons and modifier keys!
+ *
+ * Widgets are created once and updated in place. Clicking a category,
+ * selecting a module or assigning a keybind only changes state; sync()
+ * then compares each widget with what it currently shows and touches
+ * only the ones whose label, position or visibility is out of date.
+ * A module's settings panel is built the first time it is selected and
+ * kept (hidden) afterwards.
  */
 public class ClickGui extends Screen {
+    // Top of the settings panel on the right
+    private static final int SETTINGS_TOP = 65;
+    private static final int ROW_HEIGHT = 25;
+
     private HudModule selectedModule = null;
-    
+    private Category selectedCategory = null;
+
+    private ModuleList moduleList;
+    private TextFieldWidget searchInput;
+    private ModuleSearch moduleSearch;
+    private final Map<HudModule, SettingsPanel> panels = new HashMap<>();
+    private SettingsPanel shownPanel = null;
+    private long shownRevision;
+
     private ButtonWidget toggleButton;
-    private TextFieldWidget hexInput;
-    private TextFieldWidget alphaInput;
+    private boolean toggleShowsEnabled = false;
     private final List<ColorSlider> colorSliders = new ArrayList<>();
-    private ButtonWidget keybindButton;
-    
+    private ColorSetting sliderColor = null; // Color the RGB sliders edit
+
+    private KeybindLabel guiKeybindLabel;
+    private ButtonWidget profileSwitchButton;
+    private Profile shownProfile = null;
+    private KeybindLabel profileKeybindLabel;
+    private TextFieldWidget profileNameInput;
+    private int profilesY = 0;
+
     private boolean awaitingKeybind = false;
-    private boolean bindingGuiKey = false; // True when binding GUI key instead of module key
-    
-    private final List<ButtonWidget> categoryButtons = new ArrayList<>();
-    private Category selectedCategory = null;
+    private KeybindLabel bindingLabel = null; // Receives the next key or mouse press
 
     public ClickGui() {
         super(Text.of("Parsec Configuration"));
     }
 
+    /**
+     * Build every widget. Runs when the screen opens and again when the
+     * window is resized (Minecraft clears the widgets then).
+     */
     @Override
     protected void init() {
+        panels.clear();
+        shownPanel = null;
+        shownRevision = ModuleManager.INSTANCE.getRevision();
+        colorSliders.clear();
+        awaitingKeybind = false;
+        bindingLabel = null;
+
         int leftX = 20;
         int rightX = this.width - 250;
         int yOffset = 40;
 
         // === LEFT SIDE: Category buttons ===
-        yOffset = 40;
         for (Category category : Category.values()) {
             ButtonWidget catButton = ButtonWidget.builder(
-                Text.of(category.getDisplayName()), 
+                Text.of(category.getDisplayName()),
                 button -> {
                     selectedCategory = category;
-                    refreshModuleList();
+                    searchInput.setText("");
+                    sync();
                 }
             ).dimensions(leftX, yOffset, 100, 20).build();
-            
+
             this.addDrawableChild(catButton);
-            categoryButtons.add(catButton);
-            yOffset += 25;
+            yOffset += ROW_HEIGHT;
         }
 
         // "All Modules" button
         ButtonWidget allButton = ButtonWidget.builder(
-            Text.of("All Modules"), 
+            Text.of("All Modules"),
             button -> {
                 selectedCategory = null;
-                refreshModuleList();
+                searchInput.setText("");
+                sync();
             }
         ).dimensions(leftX, yOffset, 100, 20).build();
         this.addDrawableChild(allButton);
 
-        // Add GUI keybind button
+        // Drag modules around on the HUD itself
         yOffset += 30;
-        ButtonWidget guiKeybindButton = ButtonWidget.builder(
-            Text.of("GUI Key: " + InputHandler.getGuiKeybind().getName()),
-            button -> {
-                awaitingKeybind = true;
-                bindingGuiKey = true;
-                button.setMessage(Text.of("Press a key..."));
-            }
+        ButtonWidget editHudButton = ButtonWidget.builder(
+            Text.of("Edit HUD"),
+            button -> this.client.setScreen(new HudEditorScreen(this))
         ).dimensions(leftX, yOffset, 100, 20).build();
-        this.addDrawableChild(guiKeybindButton);
+        this.addDrawableChild(editHudButton);
 
-        // === CENTER: Module List ===
-        addModuleButtons();
+        // Add GUI keybind button
+        yOffset += ROW_HEIGHT;
+        guiKeybindLabel = new KeybindLabel("GUI Key: ", InputHandler.getGuiKeybind());
+        guiKeybindLabel.button = ButtonWidget.builder(
+            Text.of(""),
+            button -> startBinding(guiKeybindLabel)
+        ).dimensions(leftX, yOffset, 100, 20).build();
+        this.addDrawableChild(guiKeybindLabel.button);
+
+        // === Profiles ===
+        yOffset += 40;
+        profilesY = yOffset;
+        addProfileButtons(leftX, yOffset);
+
+        // === CENTER: Search box and Module List (scrolls, only the rows in view exist) ===
+        moduleSearch = ModuleManager.INSTANCE.newSearch();
+        searchInput = new TextFieldWidget(textRenderer, 140, 40, 140, 20, Text.of("Search"));
+        searchInput.setMaxLength(64);
+        searchInput.setPlaceholder(Text.literal("Search..."));
+        searchInput.setChangedListener(text -> sync());
+        this.addDrawableChild(searchInput);
+
+        // Opening a module's settings is what constructs it
+        moduleList = new ModuleList(140, 65, 140, this.height - 10, entry -> {
+            selectedModule = ModuleManager.INSTANCE.load(entry);
+            sync();
+        });
 
         // === RIGHT SIDE: Settings Panel ===
-        if (selectedModule != null) {
-            // Toggle Button
-            toggleButton = ButtonWidget.builder(
-                Text.of("Status: Unknown"), 
-                button -> {
-                    selectedModule.toggle();
-                    updateToggleButtonText();
-                    ConfigManager.save();
-                }
-            ).dimensions(rightX, 60, 120, 20).build();
-            this.addDrawableChild(toggleButton);
+        toggleButton = ButtonWidget.builder(
+            Text.of("Status: §cOFF"),
+            button -> {
+                if (selectedModule == null) return;
+                selectedModule.toggle();
+                ConfigManager.save();
+                sync();
+            }
+        ).dimensions(rightX, SETTINGS_TOP, 120, 20).build();
+        toggleShowsEnabled = false;
+        this.addDrawableChild(toggleButton);
+
+        // RGB Sliders, shared by every panel and pointed at the picked color
+        for (ColorSlider.Channel channel : ColorSlider.Channel.values()) {
+            ColorSlider slider = new ColorSlider(rightX, 0, 150, 20, null, channel, this::sync);
+            colorSliders.add(slider);
+            this.addDrawableChild(slider);
+        }
 
-            // Keybind Button - shows current keybind name
-            keybindButton = ButtonWidget.builder(
-                Text.of("Key: " + selectedModule.getKeybind().getName()), 
-                button -> {
-                    awaitingKeybind = true;
-                    bindingGuiKey = false;
-                    button.setMessage(Text.of("Press a key..."));
+        sync();
+    }
+
+    /**
+     * Profile controls: switch, rebind, and save the current layout
+     */
+    private void addProfileButtons(int x, int y) {
+        // Click to cycle through profiles
+        shownProfile = null;
+        profileSwitchButton = ButtonWidget.builder(
+            Text.of("Profile: None"),
+            button -> {
+                ProfileManager.cycle();
+                sync();
+            }
+        ).dimensions(x, y, 100, 20).build();
+        this.addDrawableChild(profileSwitchButton);
+
+        profileKeybindLabel = new KeybindLabel("Key: ", null);
+        profileKeybindLabel.button = ButtonWidget.builder(
+            Text.of(""),
+            button -> startBinding(profileKeybindLabel)
+        ).dimensions(x, y + 25, 100, 20).build();
+        this.addDrawableChild(profileKeybindLabel.button);
+
+        // Save the current layout under the typed name (or the active profile)
+        profileNameInput = new TextFieldWidget(textRenderer, x, y + 50, 100, 20, Text.of("Profile name"));
+        profileNameInput.setMaxLength(32);
+        profileNameInput.setPlaceholder(Text.literal("name"));
+        this.addDrawableChild(profileNameInput);
+
+        ButtonWidget saveButton = ButtonWidget.builder(
+            Text.of("Save Profile"),
+            button -> {
+                String name = profileNameInput.getText().trim();
+                if (name.isEmpty() && ProfileManager.getActive() != null) {
+                    name = ProfileManager.getActive().getName();
+                }
+                if (ProfileManager.saveCurrent(name) != null) {
+                    profileNameInput.setText("");
+                    sync();
                 }
-            ).dimensions(rightX, 90, 150, 20).build();
-            this.addDrawableChild(keybindButton);
-
-            // Hex Input
-            hexInput = new TextFieldWidget(textRenderer, rightX, 140, 80, 20, Text.of("Hex"));
-            hexInput.setMaxLength(7);
-            hexInput.setPlaceholder(Text.literal("#000000"));
-            hexInput.setChangedListener(this::onHexChanged);
-            this.addDrawableChild(hexInput);
-
-            // Alpha Input
-            alphaInput = new TextFieldWidget(textRenderer, rightX + 90, 140, 50, 20, Text.of("Alpha"));
-            alphaInput.setMaxLength(3);
-            alphaInput.setPlaceholder(Text.literal("100"));
-            alphaInput.setChangedListener(this::onAlphaChanged);
-            this.addDrawableChild(alphaInput);
-
-            // RGB Sliders
-            colorSliders.clear();
-            int sliderY = 170;
-            for (ColorSlider.Channel channel : ColorSlider.Channel.values()) {
-                ColorSlider slider = new ColorSlider(
-                    rightX, sliderY, 150, 20, 
-                    selectedModule, channel, 
-                    () -> {
-                        hexInput.setText(String.format("#%06X", 
-                            (selectedModule.getBackgroundColor() & 0xFFFFFF)));
-                    }
-                );
-                colorSliders.add(slider);
-                this.addDrawableChild(slider);
-                sliderY += 25;
             }
+        ).dimensions(x, y + 75, 100, 20).build();
+        this.addDrawableChild(saveButton);
+    }
 
-            updateSettingsPanel();
+    /**
+     * Bring every widget in line with the current state, touching only
+     * the widgets that are out of date
+     */
+    private void sync() {
+        syncRegistry();
+        syncModuleList();
+        syncSettingsPanel();
+        syncProfiles();
+        guiKeybindLabel.refresh();
+    }
+
+    /**
+     * Drop the panels of modules that were unregistered while the screen
+     * is open. The module list and search pick up the change themselves.
+     */
+    private void syncRegistry() {
+        long revision = ModuleManager.INSTANCE.getRevision();
+        if (revision == shownRevision) return;
+        shownRevision = revision;
+
+        panels.entrySet().removeIf(entry -> {
+            if (ModuleManager.INSTANCE.getLoadedModule(entry.getKey().getName()) == entry.getKey()) return false;
+            for (ClickableWidget widget : entry.getValue().widgets) {
+                this.remove(widget);
+            }
+            if (entry.getValue() == shownPanel) shownPanel = null;
+            return true;
+        });
+        if (selectedModule != null && ModuleManager.INSTANCE.getLoadedModule(selectedModule.getName()) != selectedModule) {
+            selectedModule = null;
         }
     }
 
-    private void refreshModuleList() {
-        this.clearAndInit();
+    private void syncModuleList() {
+        // A search looks through every category; picking a category clears it
+        String query = searchInput.getText();
+        if (!query.isBlank()) {
+            moduleList.setModules(moduleSearch.update(query));
+        } else {
+            moduleList.setModules(selectedCategory == null
+                ? ModuleManager.INSTANCE.getEntries()
+                : ModuleManager.INSTANCE.getEntriesByCategory(selectedCategory));
+        }
+        moduleList.sync();
     }
 
-    private void addModuleButtons() {
-        int centerX = 140;
-        int yOffset = 40;
+    private void syncSettingsPanel() {
+        SettingsPanel panel = selectedModule == null ? null : panels.computeIfAbsent(selectedModule, this::buildPanel);
+        if (panel != shownPanel) {
+            if (shownPanel != null) shownPanel.setVisible(false);
+            if (panel != null) panel.setVisible(true);
+            shownPanel = panel;
+        }
 
-        List<HudModule> modulesToShow = selectedCategory == null 
-            ? ModuleManager.INSTANCE.getModules()
-            : ModuleManager.INSTANCE.getModulesByCategory(selectedCategory);
+        setVisible(toggleButton, panel != null);
+        if (panel == null) {
+            for (ColorSlider slider : colorSliders) {
+                setVisible(slider, false);
+            }
+            return;
+        }
+
+        panel.refresh();
+
+        if (toggleShowsEnabled != selectedModule.isEnabled()) {
+            toggleShowsEnabled = selectedModule.isEnabled();
+            toggleButton.setMessage(Text.of("Status: " + (toggleShowsEnabled ? "§aON" : "§cOFF")));
+        }
 
-        for (HudModule module : modulesToShow) {
-            String displayName = module.getName();
-            if (module.isEnabled()) {
-                displayName = "§a" + displayName;
+        // Keep the sliders on a color of the selected module
+        if (sliderColor == null || !panel.colors.contains(sliderColor)) {
+            sliderColor = panel.colors.isEmpty() ? null : panel.colors.get(0);
+        }
+        int sliderY = panel.bottom + 5;
+        for (ColorSlider slider : colorSliders) {
+            setVisible(slider, sliderColor != null);
+            if (slider.getY() != sliderY) {
+                slider.setY(sliderY);
             }
+            slider.setSetting(sliderColor);
+            sliderY += ROW_HEIGHT;
+        }
+    }
 
-            ButtonWidget moduleButton = ButtonWidget.builder(
-                Text.of(displayName), 
-                button -> {
-                    this.selectedModule = module;
-                    this.clearAndInit();
-                }
-            ).dimensions(centerX, yOffset, 140, 20).build();
-            
-            this.addDrawableChild(moduleButton);
-            yOffset += 25;
+    private void syncProfiles() {
+        Profile active = ProfileManager.getActive();
+        if (active != shownProfile) {
+            shownProfile = active;
+            profileSwitchButton.setMessage(Text.of("Profile: " + (active == null ? "None" : active.getName())));
+            profileKeybindLabel.setKeybind(active == null ? null : active.getKeybind());
         }
+        setVisible(profileKeybindLabel.button, active != null);
+        profileKeybindLabel.refresh();
     }
 
-    private void updateSettingsPanel() {
-        if (selectedModule == null) return;
+    private static void setVisible(ClickableWidget widget, boolean visible) {
+        if (widget.visible != visible) {
+            widget.visible = visible;
+        }
+    }
 
-        String hex = String.format("#%06X", 
-            (selectedModule.getBackgroundColor() & 0xFFFFFF));
-        int alphaValue = (selectedModule.getBackgroundColor() >> 24) & 0xFF;
-        String alpha = String.valueOf((int)(alphaValue / 2.55));
+    /**
+     * Build the settings panel of a module, one row per setting
+     *
+     * Learning Note: The GUI never hard-codes a module field - any setting
+     * a module declares shows up here automatically.
+     */
+    private SettingsPanel buildPanel(HudModule module) {
+        SettingsPanel panel = new SettingsPanel();
+        int x = this.width - 250;
+        int y = SETTINGS_TOP + ROW_HEIGHT;
+
+        for (Setting<?> setting : module.getSettings().asList()) {
+            panel.rows.add(buildRow(panel, setting, x, y));
+            y += ROW_HEIGHT;
+        }
 
-        if (hexInput != null) hexInput.setText(hex);
-        if (alphaInput != null) alphaInput.setText(alpha);
-        updateToggleButtonText();
-        updateKeybindButtonText();
+        panel.bottom = y;
+        panel.setVisible(false);
+        return panel;
     }
 
-    private void updateToggleButtonText() {
-        if (selectedModule != null && toggleButton != null) {
-            String state = selectedModule.isEnabled() ? "§aON" : "§cOFF";
-            toggleButton.setMessage(Text.of("Status: " + state));
+    /**
+     * Create the widgets for one setting, chosen by its type
+     */
+    private SettingRow buildRow(SettingsPanel panel, Setting<?> setting, int x, int y) {
+        switch (setting.getType()) {
+            case INT -> {
+                NumberSettingSlider slider = addToPanel(panel, new NumberSettingSlider(x, y, 150, 20, (IntSetting) setting));
+                return slider::refresh;
+            }
+            case DOUBLE -> {
+                NumberSettingSlider slider = addToPanel(panel, new NumberSettingSlider(x, y, 150, 20, (DoubleSetting) setting));
+                return slider::refresh;
+            }
+            case BOOL, ENUM -> {
+                // A button that steps the value; its label shows the current one
+                ButtonWidget button = addToPanel(panel, ButtonWidget.builder(
+                    Text.of(valueLabel(setting)),
+                    pressed -> {
+                        if (setting instanceof BoolSetting bool) bool.toggle();
+                        else ((EnumSetting<?>) setting).cycle();
+                        sync();
+                    }
+                ).dimensions(x, y, 150, 20).build());
+                long[] shown = {setting.getBits()};
+                return () -> {
+                    if (shown[0] == setting.getBits()) return;
+                    shown[0] = setting.getBits();
+                    button.setMessage(Text.of(valueLabel(setting)));
+                };
+            }
+            case COLOR -> {
+                return buildColorRow(panel, (ColorSetting) setting, x, y);
+            }
+            default -> {
+                KeybindLabel label = new KeybindLabel(setting.getName() + ": ", ((KeybindSetting) setting).get());
+                label.button = addToPanel(panel, ButtonWidget.builder(
+                    Text.of(""),
+                    pressed -> startBinding(label)
+                ).dimensions(x, y, 150, 20).build());
+                return label::refresh;
+            }
         }
     }
 
-    private void onHexChanged(String newHex) {
-        if (selectedModule == null) return;
-        
+    /**
+     * Hex and alpha inputs for a color, plus a button that points
+     * the RGB sliders at it
+     */
+    private SettingRow buildColorRow(SettingsPanel panel, ColorSetting color, int x, int y) {
+        // Hex Input
+        TextFieldWidget hexInput = addToPanel(panel, new TextFieldWidget(textRenderer, x, y, 70, 20, Text.of(color.getName())));
+        hexInput.setMaxLength(7);
+        hexInput.setPlaceholder(Text.literal("#000000"));
+
+        // Alpha Input
+        TextFieldWidget alphaInput = addToPanel(panel, new TextFieldWidget(textRenderer, x + 75, y, 40, 20, Text.of("Alpha")));
+        alphaInput.setMaxLength(3);
+        alphaInput.setPlaceholder(Text.literal("100"));
+
+        addToPanel(panel, ButtonWidget.builder(
+            Text.of("RGB"),
+            button -> {
+                sliderColor = color;
+                sync();
+            }
+        ).dimensions(x + 120, y, 30, 20).build());
+
+        panel.colors.add(color);
+        panel.colorLabelY.add(y + 6);
+
+        int[] shown = {color.get()};
+        Runnable fill = () -> {
+            int alphaValue = (color.get() >> 24) & 0xFF;
+            hexInput.setText(String.format("#%06X", color.get() & 0xFFFFFF));
+            alphaInput.setText(String.valueOf((int) (alphaValue / 2.55)));
+        };
+        fill.run();
+
+        // Listen only after filling in the current value
+        hexInput.setChangedListener(text -> onHexChanged(color, text));
+        alphaInput.setChangedListener(text -> onAlphaChanged(color, text));
+
+        return () -> {
+            // Don't rewrite a field while it's being typed in
+            if (shown[0] == color.get() || hexInput.isFocused() || alphaInput.isFocused()) return;
+            shown[0] = color.get();
+            fill.run();
+        };
+    }
+
+    private <W extends ClickableWidget> W addToPanel(SettingsPanel panel, W widget) {
+        panel.widgets.add(widget);
+        return this.addDrawableChild(widget);
+    }
+
+    private static String valueLabel(Setting<?> setting) {
+        if (setting instanceof BoolSetting bool) {
+            return setting.getName() + ": " + (bool.get() ? "§aON" : "§cOFF");
+        }
+        return setting.getName() + ": " + setting.getValue();
+    }
+
+    private void onHexChanged(ColorSetting color, String newHex) {
         String hex = newHex.startsWith("#") ? newHex.substring(1) : newHex;
         if (hex.length() != 6) return;
-        
+
         try {
-            int currentAlpha = (selectedModule.getBackgroundColor() >> 24) & 0xFF;
-            selectedModule.updateColor(newHex, currentAlpha);
+            int rgb = Integer.parseInt(hex, 16);
+            color.set((color.get() & 0xFF000000) | rgb);
+            for (ColorSlider slider : colorSliders) {
+                slider.refresh();
+            }
         } catch (NumberFormatException ignored) {}
     }
 
-    private void onAlphaChanged(String newAlpha) {
-        if (selectedModule == null || newAlpha.isEmpty()) return;
-        
+    private void onAlphaChanged(ColorSetting color, String newAlpha) {
+        if (newAlpha.isEmpty()) return;
+
         try {
             int alphaPercent = Integer.parseInt(newAlpha);
             alphaPercent = Math.max(0, Math.min(100, alphaPercent));
-            
+
             int alpha255 = (int)(alphaPercent * 2.55);
-            
-            String hex = String.format("#%06X", 
-                (selectedModule.getBackgroundColor() & 0xFFFFFF));
-            selectedModule.updateColor(hex, alpha255);
+            color.set((alpha255 << 24) | (color.get() & 0xFFFFFF));
         } catch (NumberFormatException ignored) {}
     }
 
-    private void updateKeybindButtonText() {
-        if (selectedModule == null || keybindButton == null) return;
-        
-        // Use the getName() method from Keybind which shows modifiers
-        keybindButton.setMessage(Text.of("Key: " + selectedModule.getKeybind().getName()));
+    private void startBinding(KeybindLabel label) {
+        if (bindingLabel != null) {
+            bindingLabel.finish();
+        }
+        awaitingKeybind = true;
+        bindingLabel = label;
+        label.start();
+    }
+
+    private void finishBinding() {
+        awaitingKeybind = false;
+        if (bindingLabel != null) {
+            bindingLabel.finish();
+            bindingLabel = null;
+        }
+        sync();
     }
 
     /**
      * Handle key presses for keybind assignment
-     * 
+     *
      * Learning Note: This now captures modifier keys (Shift, Ctrl, Alt)
      * and creates keybinds that include them, just like Meteor Client!
      */
     @Override
     public boolean keyPressed(InputUtil.Key key, int scanCode, int modifiers) {
         int keyCode = key.getCode();
-        
-        if (awaitingKeybind) {
-            awaitingKeybind = false;
 
+        if (awaitingKeybind) {
             if (keyCode == GLFW.GLFW_KEY_ESCAPE) {
                 // Cancel binding
-                if (bindingGuiKey) {
-                    this.clearAndInit();
-                } else {
-                    updateKeybindButtonText();
-                }
+                finishBinding();
                 return true;
             }
 
+            Keybind target = bindingLabel == null ? null : bindingLabel.keybind;
             if (keyCode == GLFW.GLFW_KEY_BACKSPACE) {
                 // Clear binding
-                if (bindingGuiKey) {
-                    InputHandler.getGuiKeybind().clear();
-                } else if (selectedModule != null) {
-                    selectedModule.getKeybind().clear();
+                if (target != null) {
+                    target.clear();
                 }
             } else {
                 // Set new binding with modifiers
-                if (bindingGuiKey) {
-                    InputHandler.setGuiKeybind(true, keyCode, modifiers);
-                } else if (selectedModule != null) {
-                    selectedModule.getKeybind().set(true, keyCode, modifiers);
+                if (target != null) {
+                    target.set(true, keyCode, modifiers);
                 }
             }
-            
+
             ConfigManager.save();
-            this.clearAndInit();
+            finishBinding();
             return true;
         }
-        
+
         return super.keyPressed(key, scanCode, modifiers);
     }
 
     /**
      * Handle mouse button presses for keybind assignment
-     * 
+     *
      * Learning Note: NEW! Now you can bind mouse buttons to modules!
      */
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
         if (awaitingKeybind) {
-            awaitingKeybind = false;
-
             // Set mouse button binding (with current modifiers)
             int modifiers = 0;
             if (InputUtil.isKeyPressed(this.client.getWindow().getHandle(), GLFW.GLFW_KEY_LEFT_SHIFT) ||
@@ -305,20 +552,39 @@ public class ClickGui extends Screen {
                 modifiers |= GLFW.GLFW_MOD_ALT;
             }
 
-            if (bindingGuiKey) {
-                InputHandler.setGuiKeybind(false, button, modifiers);
-            } else if (selectedModule != null) {
-                selectedModule.getKeybind().set(false, button, modifiers);
+            Keybind target = bindingLabel == null ? null : bindingLabel.keybind;
+            if (target != null) {
+                target.set(false, button, modifiers);
             }
-            
+
             ConfigManager.save();
-            this.clearAndInit();
+            finishBinding();
+            return true;
+        }
+
+        if (button == GLFW.GLFW_MOUSE_BUTTON_LEFT && moduleList.mouseClicked(mouseX, mouseY)) {
             return true;
         }
-        
         return super.mouseClicked(mouseX, mouseY, button);
     }
 
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
+        if (moduleList.mouseScrolled(mouseX, mouseY, verticalAmount)) {
+            return true;
+        }
+        return super.mouseScrolled(mouseX, mouseY, horizontalAmount, verticalAmount);
+    }
+
+    /**
+     * Pick up changes made outside the GUI (hot reload, profile keys)
+     */
+    @Override
+    public void tick() {
+        super.tick();
+        sync();
+    }
+
     @Override
     public void close() {
         ConfigManager.save();
@@ -328,26 +594,35 @@ public class ClickGui extends Screen {
     @Override
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
         super.render(context, mouseX, mouseY, delta);
-        
+        moduleList.render(context, mouseX, mouseY, delta);
+
         // Draw title
-        context.drawCenteredTextWithShadow(this.textRenderer, this.title, 
+        context.drawCenteredTextWithShadow(this.textRenderer, this.title,
             this.width / 2, 10, 0xFFFFFF);
-        
+
         // Draw section labels
         context.drawTextWithShadow(this.textRenderer, "Categories", 20, 25, 0xAAAAAA);
         context.drawTextWithShadow(this.textRenderer, "Modules", 140, 25, 0xAAAAAA);
-        
-        if (selectedModule != null) {
+        context.drawTextWithShadow(this.textRenderer, "Profiles", 20, profilesY - 12, 0xAAAAAA);
+
+        if (selectedModule != null && shownPanel != null) {
             int rightX = this.width - 250;
-            context.drawTextWithShadow(this.textRenderer, 
+            context.drawTextWithShadow(this.textRenderer,
                 "Settings: " + selectedModule.getName(), rightX, 40, 0xFFFFFF);
-            context.drawTextWithShadow(this.textRenderer, 
-                selectedModule.getDescription(), rightX, 120, 0x888888);
-            
+            context.drawTextWithShadow(this.textRenderer,
+                selectedModule.getDescription(), rightX, 52, 0x888888);
+
+            // Color rows have no button text, so label them
+            for (int i = 0; i < shownPanel.colors.size(); i++) {
+                ColorSetting color = shownPanel.colors.get(i);
+                context.drawTextWithShadow(this.textRenderer, color.getName(), rightX + 155,
+                    shownPanel.colorLabelY.get(i), color == sliderColor ? 0xFFFFFF : 0xAAAAAA);
+            }
+
             // Show tip about mouse binding
-            if (awaitingKeybind && !bindingGuiKey) {
+            if (awaitingKeybind && bindingLabel != guiKeybindLabel) {
                 context.drawTextWithShadow(this.textRenderer,
-                    "Tip: You can bind mouse buttons too!", 
+                    "Tip: You can bind mouse buttons too!",
                     rightX, this.height - 40, 0xFFFF55);
             }
         }
@@ -357,4 +632,81 @@ public class ClickGui extends Screen {
     public boolean shouldPause() {
         return false;
     }
+
+    /**
+     * Updates one setting's widgets from its current value, if it changed
+     */
+    @FunctionalInterface
+    private interface SettingRow {
+        void refresh();
+    }
+
+    /**
+     * The widgets of one module's settings, kept while the screen is open
+     */
+    private static final class SettingsPanel {
+        private final List<ClickableWidget> widgets = new ArrayList<>();
+        private final List<SettingRow> rows = new ArrayList<>();
+        private final List<ColorSetting> colors = new ArrayList<>();
+        private final List<Integer> colorLabelY = new ArrayList<>();
+        private int bottom;
+        private boolean visible = true;
+
+        private void setVisible(boolean visible) {
+            if (this.visible == visible) return;
+            this.visible = visible;
+            for (ClickableWidget widget : widgets) {
+                widget.visible = visible;
+            }
+        }
+
+        private void refresh() {
+            for (SettingRow row : rows) {
+                row.refresh();
+            }
+        }
+    }
+
+    /**
+     * A button showing a keybind. Shows "Press a key..." while waiting
+     * for input and only rebuilds its label when the binding changed.
+     */
+    private static final class KeybindLabel {
+        private final String prefix;
+        private Keybind keybind;
+        private ButtonWidget button;
+        private long shownBits;
+        private boolean stale = true;
+        private boolean waiting = false;
+
+        private KeybindLabel(String prefix, Keybind keybind) {
+            this.prefix = prefix;
+            this.keybind = keybind;
+        }
+
+        private void setKeybind(Keybind keybind) {
+            this.keybind = keybind;
+            this.stale = true;
+        }
+
+        private void start() {
+            waiting = true;
+            button.setMessage(Text.of("Press a key..."));
+        }
+
+        private void finish() {
+            waiting = false;
+            stale = true;
+        }
+
+        private void refresh() {
+            if (waiting || keybind == null) return;
+            long bits = keybind.toBits();
+            if (!stale && bits == shownBits) return;
+
+            shownBits = bits;
+            stale = false;
+            button.setMessage(Text.of(prefix + keybind.getName()));
+        }
+    }
 }
@@ -1,27 +1,27 @@
 package me.ludens.parsec.gui;
 
-import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.settings.ColorSetting;
 import net.minecraft.client.gui.widget.SliderWidget;
 import net.minecraft.text.Text;
 
 /**
  * Color slider for adjusting RGB values.
- * UPDATED to use getters/setters instead of direct field access
+ * UPDATED to edit any ColorSetting, not just a module's background
  */
 public class ColorSlider extends SliderWidget {
-    private final HudModule module;
+    private ColorSetting setting;
     private final Channel channel;
     private final Runnable onUpdate;
 
     public enum Channel { RED, GREEN, BLUE }
 
-    public ColorSlider(int x, int y, int width, int height, HudModule module, Channel channel, Runnable onUpdate) {
+    public ColorSlider(int x, int y, int width, int height, ColorSetting setting, Channel channel, Runnable onUpdate) {
         super(x, y, width, height, Text.of(""), 0);
-        this.module = module;
+        this.setting = setting;
         this.channel = channel;
         this.onUpdate = onUpdate;
 
-        if (module != null) {
+        if (setting != null) {
             this.value = getChannelValue() / 255.0;
         } else {
             this.value = 0;
@@ -29,6 +29,24 @@ public class ColorSlider extends SliderWidget {
         updateMessage();
     }
 
+    /**
+     * Point this slider at another color (or null), keeping the widget
+     */
+    public void setSetting(ColorSetting setting) {
+        this.setting = setting;
+        refresh();
+    }
+
+    /**
+     * Move the handle to the color's current value
+     */
+    public void refresh() {
+        double current = getChannelValue() / 255.0;
+        if (this.value == current) return;
+        this.value = current;
+        updateMessage();
+    }
+
     @Override
     protected void updateMessage() {
         this.setMessage(Text.of(channel.name() + ": " + getChannelValue()));
@@ -36,36 +54,38 @@ public class ColorSlider extends SliderWidget {
 
     @Override
     protected void applyValue() {
-        if (module == null) return;
+        if (setting == null) return;
 
         int newChannelValue = (int) (this.value * 255);
-        // FIXED: Use getter instead of direct field access
-        int currentARGB = module.getBackgroundColor();
+        setting.set(withChannel(setting.get(), channel, newChannelValue));
 
-        int a = (currentARGB >> 24) & 0xFF;
-        int r = (currentARGB >> 16) & 0xFF;
-        int g = (currentARGB >> 8) & 0xFF;
-        int b = currentARGB & 0xFF;
+        if (onUpdate != null) onUpdate.run();
+    }
+
+    /**
+     * Replace one RGB channel of an ARGB color, keeping the others
+     */
+    public static int withChannel(int argb, Channel channel, int channelValue) {
+        int a = (argb >> 24) & 0xFF;
+        int r = (argb >> 16) & 0xFF;
+        int g = (argb >> 8) & 0xFF;
+        int b = argb & 0xFF;
 
         switch (channel) {
-            case RED -> r = newChannelValue;
-            case GREEN -> g = newChannelValue;
-            case BLUE -> b = newChannelValue;
+            case RED -> r = channelValue;
+            case GREEN -> g = channelValue;
+            case BLUE -> b = channelValue;
         }
 
-        // FIXED: Use setter instead of direct field access
-        module.setBackgroundColor((a << 24) | (r << 16) | (g << 8) | b);
-
-        if (onUpdate != null) onUpdate.run();
+        return (a << 24) | (r << 16) | (g << 8) | b;
     }
 
     private int getChannelValue() {
-        if (module == null) return 0;
-        // FIXED: Use getter instead of direct field access
+        if (setting == null) return 0;
         return switch (channel) {
-            case RED -> (module.getBackgroundColor() >> 16) & 0xFF;
-            case GREEN -> (module.getBackgroundColor() >> 8) & 0xFF;
-            case BLUE -> module.getBackgroundColor() & 0xFF;
+            case RED -> (setting.get() >> 16) & 0xFF;
+            case GREEN -> (setting.get() >> 8) & 0xFF;
+            case BLUE -> setting.get() & 0xFF;
         };
     }
 }
@@ -0,0 +1,290 @@
+package me.ludens.parsec.gui;
+
+import me.ludens.parsec.config.ConfigManager;
+import me.ludens.parsec.systems.Anchor;
+import me.ludens.parsec.systems.HudLayout;
+import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.systems.ModuleManager;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.util.InputUtil;
+import net.minecraft.text.Text;
+import org.lwjgl.glfw.GLFW;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Edit mode for the HUD: drag enabled modules to where they should be.
+ *
+ * Learning Note: While dragging, the module snaps to the screen edges
+ * and lines up with the modules around it, and it's pushed out of any
+ * module it would cover. Those checks need the neighbours of the
+ * dragged module on every mouse move, so module bounds are kept in a
+ * SpatialHash and only the few modules near the mouse are looked at.
+ *
+ * Positions are written back through setX()/setY() as offsets from the
+ * module's own anchor, so the HUD moves live and a module anchored to
+ * the bottom right keeps hugging that corner after a resize.
+ * Hold Shift to move freely without snapping.
+ */
+public class HudEditorScreen extends Screen {
+    // Cells of 32x32 scaled pixels, about the height of two info lines
+    private static final int CELL_SHIFT = 5;
+
+    // How close (in scaled pixels) an edge has to be to snap to it
+    private static final int SNAP_DISTANCE = 6;
+
+    // Space kept between modules, the same as HudLayout's stacks
+    private static final int GAP = 2;
+
+    // Pushing out of one module can push into another; give up after this many
+    private static final int MAX_PUSHES = 4;
+
+    private static final int OUTLINE_COLOR = 0x80FFFFFF;
+    private static final int HOVER_COLOR = 0xFF55FFFF;
+    private static final int DRAG_COLOR = 0xFFFFFF55;
+    private static final int GUIDE_COLOR = 0x8055FFFF;
+
+    private final Screen parent;
+    private final SpatialHash grid = new SpatialHash(CELL_SHIFT);
+
+    // What the grid currently holds
+    private List<HudModule> shownModules = null;
+    private long shownLayoutVersion = -1;
+
+    private HudModule dragged = null;
+    private int grabX, grabY; // Mouse position inside the dragged module
+
+    // Snap lines of the last drag step, drawn as guides; -1 when not snapped
+    private int guideX = -1, guideY = -1;
+
+    // Reused for grid queries
+    private final List<HudModule> nearby = new ArrayList<>();
+
+    // Result of the last snap() call
+    private int snapPosition, snapDistance, snapGuide;
+
+    public HudEditorScreen(Screen parent) {
+        super(Text.literal("Edit HUD"));
+        this.parent = parent;
+    }
+
+    @Override
+    public void render(DrawContext context, int mouseX, int mouseY, float delta) {
+        syncGrid();
+
+        HudModule hovered = dragged != null ? dragged : grid.at(mouseX, mouseY);
+        for (HudModule module : shownModules) {
+            int[] rect = grid.boundsOf(module);
+            if (rect == null) continue;
+            int color = module == dragged ? DRAG_COLOR : module == hovered ? HOVER_COLOR : OUTLINE_COLOR;
+            drawOutline(context, rect[0], rect[1], rect[2], rect[3], color);
+        }
+
+        if (dragged != null) {
+            if (guideX >= 0) context.fill(guideX, 0, guideX + 1, this.height, GUIDE_COLOR);
+            if (guideY >= 0) context.fill(0, guideY, this.width, guideY + 1, GUIDE_COLOR);
+        }
+
+        if (hovered != null) {
+            int[] rect = grid.boundsOf(hovered);
+            int labelY = rect[1] >= 12 ? rect[1] - 10 : rect[3] + 2;
+            context.drawTextWithShadow(textRenderer, hovered.getName() + " (" + hovered.getAnchor() + ")",
+                rect[0], labelY, 0xFFFFFFFF);
+        }
+
+        context.drawCenteredTextWithShadow(textRenderer,
+            "Drag modules to move them. Shift: no snapping. Esc: done.", this.width / 2, 4, 0xFFAAAAAA);
+
+        super.render(context, mouseX, mouseY, delta);
+    }
+
+    /**
+     * Keep the in-game HUD visible behind the editor
+     */
+    @Override
+    public void renderBackground(DrawContext context, int mouseX, int mouseY, float delta) {
+    }
+
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (button == GLFW.GLFW_MOUSE_BUTTON_LEFT) {
+            syncGrid();
+            HudModule module = grid.at((int) mouseX, (int) mouseY);
+            if (module != null) {
+                int[] rect = grid.boundsOf(module);
+                dragged = module;
+                grabX = (int) mouseX - rect[0];
+                grabY = (int) mouseY - rect[1];
+                return true;
+            }
+        }
+        return super.mouseClicked(mouseX, mouseY, button);
+    }
+
+    @Override
+    public boolean mouseDragged(double mouseX, double mouseY, int button, double deltaX, double deltaY) {
+        if (dragged != null && button == GLFW.GLFW_MOUSE_BUTTON_LEFT) {
+            moveTo(dragged, (int) mouseX - grabX, (int) mouseY - grabY);
+            return true;
+        }
+        return super.mouseDragged(mouseX, mouseY, button, deltaX, deltaY);
+    }
+
+    @Override
+    public boolean mouseReleased(double mouseX, double mouseY, int button) {
+        if (dragged != null && button == GLFW.GLFW_MOUSE_BUTTON_LEFT) {
+            dragged = null;
+            guideX = -1;
+            guideY = -1;
+            return true;
+        }
+        return super.mouseReleased(mouseX, mouseY, button);
+    }
+
+    @Override
+    public boolean shouldPause() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        ConfigManager.save();
+        this.client.setScreen(parent);
+    }
+
+    /**
+     * Bring the grid up to date with the enabled modules and their laid out bounds.
+     * Only modules whose bounds changed are moved in the grid.
+     */
+    private void syncGrid() {
+        List<HudModule> modules = ModuleManager.INSTANCE.getEnabledModules();
+        long version = HudLayout.getVersion();
+        if (modules == shownModules && version == shownLayoutVersion) return;
+
+        // A new list means modules were toggled; that's rare enough to start over
+        if (modules != shownModules) grid.clear();
+
+        for (int i = 0, n = modules.size(); i < n; i++) {
+            HudModule module = modules.get(i);
+            if (module.getContentWidth() > 0) {
+                grid.put(module, module.getBoundsLeft(), module.getBoundsTop(),
+                    module.getBoundsWidth(), module.getBoundsHeight());
+            } else {
+                grid.remove(module);
+            }
+        }
+
+        if (dragged != null && !grid.contains(dragged)) dragged = null;
+        shownModules = modules;
+        shownLayoutVersion = version;
+    }
+
+    /**
+     * Put the module's top-left bounds corner as close to (left, top) as
+     * snapping and the other modules allow
+     */
+    private void moveTo(HudModule module, int left, int top) {
+        int width = module.getBoundsWidth();
+        int height = module.getBoundsHeight();
+
+        guideX = -1;
+        guideY = -1;
+        if (!isShiftDown()) {
+            // Snap each axis to the closest candidate edge within reach
+            grid.query(left - SNAP_DISTANCE - GAP, top - SNAP_DISTANCE - GAP,
+                left + width + SNAP_DISTANCE + GAP, top + height + SNAP_DISTANCE + GAP, module, nearby);
+
+            beginSnap(left);
+            snap(left, 0, 0);
+            snap(left, this.width - width, this.width - 1);
+            for (int i = 0, n = nearby.size(); i < n; i++) {
+                int[] rect = grid.boundsOf(nearby.get(i));
+                snap(left, rect[0], rect[0]);                  // Left edges aligned
+                snap(left, rect[2] - width, rect[2] - 1);      // Right edges aligned
+                snap(left, rect[2] + GAP, rect[2]);            // Just right of it
+                snap(left, rect[0] - GAP - width, rect[0] - 1); // Just left of it
+            }
+            left = snapPosition;
+            guideX = snapGuide;
+
+            beginSnap(top);
+            snap(top, 0, 0);
+            snap(top, this.height - height, this.height - 1);
+            for (int i = 0, n = nearby.size(); i < n; i++) {
+                int[] rect = grid.boundsOf(nearby.get(i));
+                snap(top, rect[1], rect[1]);
+                snap(top, rect[3] - height, rect[3] - 1);
+                snap(top, rect[3] + GAP, rect[3]);
+                snap(top, rect[1] - GAP - height, rect[1] - 1);
+            }
+            top = snapPosition;
+            guideY = snapGuide;
+        }
+
+        left = clamp(left, this.width - width);
+        top = clamp(top, this.height - height);
+
+        // Push out of whatever it covers, along the shortest way out
+        for (int push = 0; push < MAX_PUSHES; push++) {
+            grid.query(left, top, left + width, top + height, module, nearby);
+            if (nearby.isEmpty()) break;
+
+            int[] rect = grid.boundsOf(nearby.get(0));
+            int toRight = rect[2] + GAP - left;
+            int toLeft = left + width + GAP - rect[0];
+            int toBottom = rect[3] + GAP - top;
+            int toTop = top + height + GAP - rect[1];
+
+            int shortest = Math.min(Math.min(toRight, toLeft), Math.min(toBottom, toTop));
+            if (shortest == toRight) left += toRight;
+            else if (shortest == toLeft) left -= toLeft;
+            else if (shortest == toBottom) top += toBottom;
+            else top -= toTop;
+
+            left = clamp(left, this.width - width);
+            top = clamp(top, this.height - height);
+        }
+
+        // Bounds -> content position -> offset from the module's anchor
+        Anchor anchor = module.getAnchor();
+        module.setX(anchor.offsetX(left + HudModule.PADDING, module.getContentWidth(), this.width));
+        module.setY(anchor.offsetY(top + HudModule.PADDING, module.getContentHeight(), this.height));
+    }
+
+    private void beginSnap(int position) {
+        snapPosition = position;
+        snapDistance = SNAP_DISTANCE + 1;
+        snapGuide = -1;
+    }
+
+    /**
+     * Take candidate as the snapped position if it's closer than the best so far
+     */
+    private void snap(int position, int candidate, int guide) {
+        int distance = Math.abs(candidate - position);
+        if (distance < snapDistance) {
+            snapPosition = candidate;
+            snapDistance = distance;
+            snapGuide = guide;
+        }
+    }
+
+    private boolean isShiftDown() {
+        long handle = this.client.getWindow().getHandle();
+        return InputUtil.isKeyPressed(handle, GLFW.GLFW_KEY_LEFT_SHIFT)
+            || InputUtil.isKeyPressed(handle, GLFW.GLFW_KEY_RIGHT_SHIFT);
+    }
+
+    private static void drawOutline(DrawContext context, int left, int top, int right, int bottom, int color) {
+        context.fill(left, top, right, top + 1, color);
+        context.fill(left, bottom - 1, right, bottom, color);
+        context.fill(left, top + 1, left + 1, bottom - 1, color);
+        context.fill(right - 1, top + 1, right, bottom - 1, color);
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+}
@@ -0,0 +1,218 @@
+package me.ludens.parsec.gui;
+
+import me.ludens.parsec.systems.ModuleEntry;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.text.Text;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Scrollable list of module buttons for the ClickGui.
+ *
+ * Learning Note: This is a "virtualized" list. It only owns enough
+ * buttons to fill the visible area (plus one for a row that is half
+ * scrolled in). While scrolling, a button that leaves the top is reused
+ * for the row coming in at the bottom, so a list of 500 modules still
+ * lays out and draws about 15 buttons.
+ *
+ * The buttons are not added to the screen; the list draws them itself
+ * inside a scissor rectangle and maps clicks to rows by their y offset.
+ * Rows are registry entries, so listing a module doesn't construct it.
+ */
+public class ModuleList {
+    private static final int ROW_HEIGHT = 25;
+    private static final int BUTTON_HEIGHT = 20;
+    private static final int SCROLLBAR_WIDTH = 3;
+
+    // How fast the view catches up with the scroll target (per second)
+    private static final double SCROLL_SPEED = 18.0;
+
+    private final int x, top, width, bottom;
+    private final Consumer<ModuleEntry> onSelect;
+    private final Slot[] slots;
+
+    private List<ModuleEntry> modules = List.of();
+    private double scroll = 0;       // Current (animated) scroll offset in pixels
+    private double targetScroll = 0; // Where the scroll is heading
+    private int laidOutScroll = -1;  // Pixel offset the slots were last placed for
+    private long lastFrameNanos = 0;
+
+    public ModuleList(int x, int top, int width, int bottom, Consumer<ModuleEntry> onSelect) {
+        this.x = x;
+        this.top = top;
+        this.width = width;
+        this.bottom = Math.max(top + ROW_HEIGHT, bottom);
+        this.onSelect = onSelect;
+
+        // One slot per row that can be seen at once, plus one partially scrolled in
+        int visibleRows = (this.bottom - top + ROW_HEIGHT - 1) / ROW_HEIGHT + 1;
+        this.slots = new Slot[visibleRows];
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = new Slot();
+            slot.button = ButtonWidget.builder(Text.of(""), button -> {})
+                .dimensions(x, top, width, BUTTON_HEIGHT).build();
+            slot.button.visible = false;
+            slots[i] = slot;
+        }
+    }
+
+    /**
+     * Show a different set of modules (e.g. after picking a category).
+     * The list is only referenced, never copied.
+     */
+    public void setModules(List<ModuleEntry> modules) {
+        if (this.modules == modules) return;
+        this.modules = modules;
+
+        scroll = targetScroll = 0;
+        for (Slot slot : slots) {
+            slot.module = null;
+        }
+        layout();
+    }
+
+    /**
+     * Update labels of the rows in view whose module was toggled
+     */
+    public void sync() {
+        for (Slot slot : slots) {
+            if (slot.module != null && slot.shownEnabled != slot.module.isEnabled()) {
+                slot.updateLabel();
+            }
+        }
+    }
+
+    public boolean mouseScrolled(double mouseX, double mouseY, double amount) {
+        if (!isInside(mouseX, mouseY)) return false;
+
+        targetScroll = clampScroll(targetScroll - amount * ROW_HEIGHT);
+        return true;
+    }
+
+    public boolean mouseClicked(double mouseX, double mouseY) {
+        if (!isInside(mouseX, mouseY)) return false;
+
+        int offset = (int) (mouseY - top + scroll);
+        int index = offset / ROW_HEIGHT;
+        // Ignore the gap between buttons
+        if (offset % ROW_HEIGHT >= BUTTON_HEIGHT || index >= modules.size()) return true;
+
+        onSelect.accept(modules.get(index));
+        return true;
+    }
+
+    public void render(DrawContext context, int mouseX, int mouseY, float delta) {
+        animate();
+        if (laidOutScroll != (int) Math.round(scroll)) {
+            layout();
+        }
+
+        // Hovering is only possible inside the visible area
+        boolean inside = isInside(mouseX, mouseY);
+        int hoverX = inside ? mouseX : -1;
+        int hoverY = inside ? mouseY : -1;
+
+        context.enableScissor(x, top, x + width + SCROLLBAR_WIDTH + 2, bottom);
+        for (Slot slot : slots) {
+            if (slot.button.visible) {
+                slot.button.render(context, hoverX, hoverY, delta);
+            }
+        }
+        context.disableScissor();
+
+        renderScrollbar(context);
+    }
+
+    /**
+     * Ease the scroll offset toward its target, independent of frame rate
+     */
+    private void animate() {
+        long now = System.nanoTime();
+        double seconds = lastFrameNanos == 0 ? 0 : (now - lastFrameNanos) / 1_000_000_000.0;
+        lastFrameNanos = now;
+
+        // Content may have shrunk since the target was set
+        targetScroll = clampScroll(targetScroll);
+
+        double remaining = targetScroll - scroll;
+        if (Math.abs(remaining) < 0.5) {
+            scroll = targetScroll;
+        } else {
+            scroll += remaining * (1 - Math.exp(-seconds * SCROLL_SPEED));
+        }
+    }
+
+    /**
+     * Place the slots for the current scroll offset, rebinding a slot
+     * only when the row it shows changed
+     */
+    private void layout() {
+        int pixelScroll = (int) Math.round(scroll);
+        laidOutScroll = pixelScroll;
+
+        int first = pixelScroll / ROW_HEIGHT;
+        for (int i = 0; i < slots.length; i++) {
+            // Row n always uses slot n % slots.length, so a row keeps its
+            // button while it stays in view
+            int index = first + Math.floorMod(i - first, slots.length);
+            Slot slot = slots[i];
+
+            if (index >= modules.size()) {
+                slot.module = null;
+                slot.button.visible = false;
+                continue;
+            }
+
+            ModuleEntry module = modules.get(index);
+            if (slot.module != module) {
+                slot.module = module;
+                slot.updateLabel();
+            }
+            slot.button.visible = true;
+            slot.button.setY(top + index * ROW_HEIGHT - pixelScroll);
+        }
+    }
+
+    private void renderScrollbar(DrawContext context) {
+        int contentHeight = modules.size() * ROW_HEIGHT;
+        int viewHeight = bottom - top;
+        if (contentHeight <= viewHeight) return;
+
+        int barX = x + width + 2;
+        int barHeight = Math.max(10, viewHeight * viewHeight / contentHeight);
+        int barY = top + (int) ((viewHeight - barHeight) * (scroll / maxScroll()));
+
+        context.fill(barX, top, barX + SCROLLBAR_WIDTH, bottom, 0x40000000);
+        context.fill(barX, barY, barX + SCROLLBAR_WIDTH, barY + barHeight, 0xA0FFFFFF);
+    }
+
+    private double clampScroll(double value) {
+        return Math.max(0, Math.min(maxScroll(), value));
+    }
+
+    private int maxScroll() {
+        // The last row only needs its button, not the gap after it, in view
+        return Math.max(0, modules.size() * ROW_HEIGHT - (ROW_HEIGHT - BUTTON_HEIGHT) - (bottom - top));
+    }
+
+    private boolean isInside(double mouseX, double mouseY) {
+        return mouseX >= x && mouseX < x + width && mouseY >= top && mouseY < bottom;
+    }
+
+    /**
+     * A reusable button and the module it currently shows
+     */
+    private static final class Slot {
+        private ButtonWidget button;
+        private ModuleEntry module;
+        private boolean shownEnabled;
+
+        private void updateLabel() {
+            shownEnabled = module.isEnabled();
+            String name = module.getName();
+            button.setMessage(Text.of(shownEnabled ? "§a" + name : name));
+        }
+    }
+}
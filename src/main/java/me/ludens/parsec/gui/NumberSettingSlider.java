@@ -0,0 +1,66 @@
+package me.ludens.parsec.gui;
+
+import me.ludens.parsec.settings.DoubleSetting;
+import me.ludens.parsec.settings.IntSetting;
+import me.ludens.parsec.settings.Setting;
+import net.minecraft.client.gui.widget.SliderWidget;
+import net.minecraft.text.Text;
+
+/**
+ * Slider for an IntSetting or DoubleSetting, spanning the setting's min..max
+ */
+public class NumberSettingSlider extends SliderWidget {
+    private final Setting<?> setting;
+    private final double min;
+    private final double max;
+
+    public NumberSettingSlider(int x, int y, int width, int height, IntSetting setting) {
+        this(x, y, width, height, setting, setting.getMin(), setting.getMax());
+    }
+
+    public NumberSettingSlider(int x, int y, int width, int height, DoubleSetting setting) {
+        this(x, y, width, height, setting, setting.getMin(), setting.getMax());
+    }
+
+    private NumberSettingSlider(int x, int y, int width, int height, Setting<?> setting, double min, double max) {
+        super(x, y, width, height, Text.of(""), 0);
+        this.setting = setting;
+        this.min = min;
+        this.max = max;
+
+        this.value = max > min ? (current() - min) / (max - min) : 0;
+        updateMessage();
+    }
+
+    /**
+     * Move the handle if the setting was changed from somewhere else
+     */
+    public void refresh() {
+        double current = max > min ? (current() - min) / (max - min) : 0;
+        if (this.value == current) return;
+        this.value = current;
+        updateMessage();
+    }
+
+    private double current() {
+        return setting instanceof IntSetting intSetting ? intSetting.get() : ((DoubleSetting) setting).get();
+    }
+
+    @Override
+    protected void updateMessage() {
+        String shown = setting instanceof IntSetting intSetting
+            ? String.valueOf(intSetting.get())
+            : String.format("%.2f", ((DoubleSetting) setting).get());
+        this.setMessage(Text.of(setting.getName() + ": " + shown));
+    }
+
+    @Override
+    protected void applyValue() {
+        double newValue = min + this.value * (max - min);
+        if (setting instanceof IntSetting intSetting) {
+            intSetting.set((int) Math.round(newValue));
+        } else {
+            ((DoubleSetting) setting).set(newValue);
+        }
+    }
+}
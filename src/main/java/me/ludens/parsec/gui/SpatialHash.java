@@ -0,0 +1,170 @@
+package me.ludens.parsec.gui;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import me.ludens.parsec.systems.HudModule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Module bounds sorted into a uniform grid, for the HUD editor's
+ * snapping and overlap checks.
+ *
+ * Learning Note: Checking a dragged module against every other module
+ * is fine for five modules, but the editor runs these checks on every
+ * mouse move, several times over. The screen is cut into square cells
+ * and each module is listed in the cells its rectangle touches. A query
+ * only looks at the modules in the cells it covers, so its cost depends
+ * on how crowded that part of the screen is, not on how many modules
+ * exist.
+ *
+ * Moving a module only rewrites the cells it left and entered, and
+ * nothing is rebuilt while modules stand still.
+ */
+final class SpatialHash {
+    private final int cellShift;
+
+    // Cell key -> modules touching that cell
+    private final Long2ObjectOpenHashMap<List<HudModule>> cells = new Long2ObjectOpenHashMap<>();
+
+    // Rectangle each module was inserted with: left, top, right, bottom (exclusive)
+    private final Reference2ObjectOpenHashMap<HudModule, int[]> bounds = new Reference2ObjectOpenHashMap<>();
+
+    // Reused by queries so a module spanning several cells is reported once
+    private final ReferenceOpenHashSet<HudModule> seen = new ReferenceOpenHashSet<>();
+
+    /**
+     * @param cellShift cells are (1 << cellShift) pixels wide and tall
+     */
+    SpatialHash(int cellShift) {
+        this.cellShift = cellShift;
+    }
+
+    /**
+     * Insert a module, or move it if it's already in the grid
+     */
+    void put(HudModule module, int left, int top, int width, int height) {
+        int right = left + width;
+        int bottom = top + height;
+        int[] rect = bounds.get(module);
+        if (rect != null) {
+            if (rect[0] == left && rect[1] == top && rect[2] == right && rect[3] == bottom) return;
+
+            // Only touch cells whose membership actually changes
+            forEachCell(rect, module, false, left, top, right, bottom);
+            int oldLeft = rect[0], oldTop = rect[1], oldRight = rect[2], oldBottom = rect[3];
+            rect[0] = left;
+            rect[1] = top;
+            rect[2] = right;
+            rect[3] = bottom;
+            forEachCell(rect, module, true, oldLeft, oldTop, oldRight, oldBottom);
+        } else {
+            rect = new int[] {left, top, right, bottom};
+            bounds.put(module, rect);
+            forEachCell(rect, module, true, 0, 0, 0, 0);
+        }
+    }
+
+    void remove(HudModule module) {
+        int[] rect = bounds.remove(module);
+        if (rect != null) forEachCell(rect, module, false, 0, 0, 0, 0);
+    }
+
+    boolean contains(HudModule module) {
+        return bounds.containsKey(module);
+    }
+
+    void clear() {
+        cells.clear();
+        bounds.clear();
+    }
+
+    /**
+     * Collect the modules overlapping the rectangle into out, skipping ignored.
+     * Touching edges don't count as overlapping.
+     */
+    void query(int left, int top, int right, int bottom, HudModule ignored, List<HudModule> out) {
+        out.clear();
+        if (right <= left || bottom <= top) return;
+
+        seen.clear();
+        int cellLeft = left >> cellShift, cellRight = (right - 1) >> cellShift;
+        int cellTop = top >> cellShift, cellBottom = (bottom - 1) >> cellShift;
+        for (int cx = cellLeft; cx <= cellRight; cx++) {
+            for (int cy = cellTop; cy <= cellBottom; cy++) {
+                List<HudModule> cell = cells.get(key(cx, cy));
+                if (cell == null) continue;
+                for (int i = 0, n = cell.size(); i < n; i++) {
+                    HudModule module = cell.get(i);
+                    if (module == ignored || !seen.add(module)) continue;
+                    int[] rect = bounds.get(module);
+                    if (rect[0] < right && left < rect[2] && rect[1] < bottom && top < rect[3]) {
+                        out.add(module);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The module under a point, the one inserted last if several overlap
+     */
+    HudModule at(int x, int y) {
+        List<HudModule> cell = cells.get(key(x >> cellShift, y >> cellShift));
+        if (cell == null) return null;
+        for (int i = cell.size() - 1; i >= 0; i--) {
+            int[] rect = bounds.get(cell.get(i));
+            if (rect[0] <= x && x < rect[2] && rect[1] <= y && y < rect[3]) return cell.get(i);
+        }
+        return null;
+    }
+
+    /**
+     * The rectangle a module was inserted with, or null. Don't modify it.
+     */
+    int[] boundsOf(HudModule module) {
+        return bounds.get(module);
+    }
+
+    /**
+     * Add the module to (or remove it from) every cell of rect that isn't
+     * also a cell of the rectangle skip. An empty skip rectangle skips nothing.
+     */
+    private void forEachCell(int[] rect, HudModule module, boolean add,
+                             int skipLeft, int skipTop, int skipRight, int skipBottom) {
+        if (rect[2] <= rect[0] || rect[3] <= rect[1]) return;
+
+        boolean hasSkip = skipRight > skipLeft && skipBottom > skipTop;
+        int sLeft = skipLeft >> cellShift, sRight = (skipRight - 1) >> cellShift;
+        int sTop = skipTop >> cellShift, sBottom = (skipBottom - 1) >> cellShift;
+
+        int cellRight = (rect[2] - 1) >> cellShift;
+        int cellBottom = (rect[3] - 1) >> cellShift;
+        for (int cx = rect[0] >> cellShift; cx <= cellRight; cx++) {
+            for (int cy = rect[1] >> cellShift; cy <= cellBottom; cy++) {
+                if (hasSkip && cx >= sLeft && cx <= sRight && cy >= sTop && cy <= sBottom) continue;
+
+                long key = key(cx, cy);
+                if (add) {
+                    List<HudModule> cell = cells.get(key);
+                    if (cell == null) {
+                        cell = new ArrayList<>(4);
+                        cells.put(key, cell);
+                    }
+                    cell.add(module);
+                } else {
+                    List<HudModule> cell = cells.get(key);
+                    if (cell == null) continue;
+                    cell.remove(module);
+                    if (cell.isEmpty()) cells.remove(key);
+                }
+            }
+        }
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
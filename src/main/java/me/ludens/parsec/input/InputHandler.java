@@ -7,7 +7,6 @@ import me.ludens.parsec.gui.ClickGui;
 import me.ludens.parsec.systems.ModuleManager;
 import me.ludens.parsec.systems.HudModule;
 import me.ludens.parsec.utils.Keybind;
-import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.minecraft.client.MinecraftClient;
 import org.lwjgl.glfw.GLFW;
 
@@ -21,87 +20,80 @@ import org.lwjgl.glfw.GLFW;
 public class InputHandler {
     // GUI keybind - use our custom Keybind class
     private static final Keybind GUI_KEYBIND = Keybind.fromKey(GLFW.GLFW_KEY_RIGHT_SHIFT);
-    
-    // Track last pressed state to detect key presses
-    private static boolean guiKeyWasPressed = false;
+
+    // Module keybinds indexed by key/button for constant-time lookup
+    private static final KeybindDispatcher DISPATCHER = new KeybindDispatcher();
 
     /**
      * Initialize the input handler
+     * 
+     * Learning Note: Input arrives through KeyboardMixin and MouseMixin,
+     * which call onKey/onMouseButton straight from GLFW's callbacks.
+     * We only do work when something is actually pressed, instead of
+     * polling every keybind 20 times per second.
      */
     public static void init() {
         Parsec.LOGGER.info("Initializing input handler...");
-        
-        // Register tick event to check keybinds
-        // Learning Note: We check on tick rather than on key event because
-        // tick events happen after all input processing, avoiding conflicts
-        ClientTickEvents.END_CLIENT_TICK.register(client -> {
-            checkKeybinds(client);
-        });
+
+        // Index every keybind; rebinding later updates the index itself.
+        // Modules constructed later are bound as they appear - a module
+        // with a saved keybind is always constructed at startup.
+        DISPATCHER.bind(GUI_KEYBIND, InputHandler::openGui);
+        for (HudModule module : ModuleManager.INSTANCE.getLoadedModules()) {
+            bindModule(module);
+        }
+
+        // ModuleManager runs these on the client thread, where key presses
+        // are handled, so the dispatcher is only ever touched there
+        ModuleManager.INSTANCE.addLoadListener(InputHandler::bindModule);
+        ModuleManager.INSTANCE.addUnregisterListener(module -> DISPATCHER.unbind(module.getKeybind()));
         
         Parsec.LOGGER.info("Input handler initialized");
     }
 
     /**
-     * Check all keybinds each tick
-     * 
-     * Learning Note: This is called 20 times per second (every tick).
-     * We check if keybinds are pressed and trigger the appropriate actions.
+     * Run an action whenever a keybind is pressed in-game.
+     * Used for things that aren't modules, like config profiles.
      */
-    private static void checkKeybinds(MinecraftClient client) {
-        // Don't process keybinds if a screen is open (except GUI keybind)
-        if (client.currentScreen != null && !(client.currentScreen instanceof ClickGui)) {
-            guiKeyWasPressed = false;
-            return;
-        }
+    public static void bind(Keybind keybind, Runnable action) {
+        DISPATCHER.bind(keybind, action);
+    }
 
-        // Check GUI keybind
-        boolean guiKeyPressed = GUI_KEYBIND.isPressed();
-        if (guiKeyPressed && !guiKeyWasPressed) {
-            client.setScreen(new ClickGui());
-        }
-        guiKeyWasPressed = guiKeyPressed;
-
-        // Check module keybinds (only if no screen is open)
-        if (client.currentScreen == null) {
-            for (HudModule module : ModuleManager.INSTANCE.getModules()) {
-                if (module.getKeybind().isPressed()) {
-                    module.toggle();
-                    Parsec.LOGGER.info("Toggled {} {}", 
-                        module.getName(), 
-                        module.isEnabled() ? "ON" : "OFF");
-                }
-            }
-        }
+    /**
+     * Stop listening for a keybind registered with bind()
+     */
+    public static void unbind(Keybind keybind) {
+        DISPATCHER.unbind(keybind);
     }
 
     /**
      * Handle key press events
      * 
-     * Learning Note: This would be called from a mixin that intercepts
+     * Learning Note: This is called from KeyboardMixin, which intercepts
      * keyboard input. Similar to Meteor's key event handling.
      * 
      * @return true if the event should be cancelled
      */
     public static boolean onKey(int key, int scancode, int action, int modifiers) {
-        KeyEvent event = KeyEvent.get(key, scancode, action, modifiers);
+        // Let subscribed modules see (and cancel) the key first
+        KeyEvent event = Parsec.EVENT_BUS.post(KeyEvent.get(key, scancode, action, modifiers));
+        if (event.isCancelled()) {
+            return true;
+        }
         
-        // Only process on press or repeat (not release)
-        if (action == GLFW.GLFW_RELEASE) {
+        // Only act on the initial press, so holding a key toggles once
+        if (action != GLFW.GLFW_PRESS || !isInGame()) {
             return false;
         }
 
         // Check if any module wants to handle this key
-        for (HudModule module : ModuleManager.INSTANCE.getModules()) {
-            if (module.matchesKeybind(true, key, modifiers)) {
-                module.toggle();
-                Parsec.LOGGER.info("Toggled {} {}", 
-                    module.getName(), 
-                    module.isEnabled() ? "ON" : "OFF");
-                return true; // Cancel the event
-            }
+        KeybindDispatcher.Binding binding = DISPATCHER.resolve(true, key, modifiers);
+        if (binding != null) {
+            binding.run();
+            return true; // Cancel the event
         }
 
-        return event.isCancelled();
+        return false;
     }
 
     /**
@@ -111,24 +103,49 @@ public class InputHandler {
      * Allows binding modules to mouse buttons like Mouse 4, Mouse 5, etc.
      */
     public static boolean onMouseButton(int button, int action, int modifiers) {
-        MouseButtonEvent event = MouseButtonEvent.get(button, action, modifiers);
+        MouseButtonEvent event = Parsec.EVENT_BUS.post(MouseButtonEvent.get(button, action, modifiers));
+        if (event.isCancelled()) {
+            return true;
+        }
         
-        if (action == GLFW.GLFW_RELEASE) {
+        if (action != GLFW.GLFW_PRESS || !isInGame()) {
             return false;
         }
 
         // Check if any module wants to handle this button
-        for (HudModule module : ModuleManager.INSTANCE.getModules()) {
-            if (module.matchesKeybind(false, button, modifiers)) {
-                module.toggle();
-                Parsec.LOGGER.info("Toggled {} {}", 
-                    module.getName(), 
-                    module.isEnabled() ? "ON" : "OFF");
-                return true;
-            }
+        KeybindDispatcher.Binding binding = DISPATCHER.resolve(false, button, modifiers);
+        if (binding != null) {
+            binding.run();
+            return true;
         }
 
-        return event.isCancelled();
+        return false;
+    }
+
+    /**
+     * Keybinds only fire in-game; open screens (including ClickGui while
+     * it waits for a new binding) receive input themselves.
+     */
+    private static boolean isInGame() {
+        return MinecraftClient.getInstance().currentScreen == null;
+    }
+
+    private static void openGui() {
+        MinecraftClient.getInstance().setScreen(new ClickGui());
+    }
+
+    private static void bindModule(HudModule module) {
+        DISPATCHER.bind(module.getKeybind(), () -> toggleModule(module));
+    }
+
+    private static void toggleModule(HudModule module) {
+        // Unregistered, but its unbind hasn't run yet
+        if (ModuleManager.INSTANCE.getLoadedModule(module.getName()) != module) return;
+
+        module.toggle();
+        Parsec.LOGGER.info("Toggled {} {}", 
+            module.getName(), 
+            module.isEnabled() ? "ON" : "OFF");
     }
 
     /**
@@ -0,0 +1,147 @@
+package me.ludens.parsec.input;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import me.ludens.parsec.utils.Keybind;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Maps key/button presses straight to the keybinds bound to them.
+ * 
+ * Learning Note: Instead of asking every module "is this your key?",
+ * we index bindings by the packed (isKey, code) pair in a primitive int
+ * map. A press then costs one hash lookup no matter how many modules
+ * exist. Each slot is ordered by modifier specificity, so "Ctrl + F"
+ * wins over plain "F" when Ctrl is held.
+ */
+public class KeybindDispatcher {
+    private static final Binding[] EMPTY = new Binding[0];
+
+    private final Int2ObjectOpenHashMap<Binding[]> slots = new Int2ObjectOpenHashMap<>();
+    private final Map<Keybind, Binding> bindings = new IdentityHashMap<>();
+    private final Keybind.Listener changeListener = this::onKeybindChanged;
+
+    /**
+     * A keybind together with the action it triggers
+     */
+    public static final class Binding {
+        private final Keybind keybind;
+        private final Runnable action;
+
+        private Binding(Keybind keybind, Runnable action) {
+            this.keybind = keybind;
+            this.action = action;
+        }
+
+        public Keybind getKeybind() {
+            return keybind;
+        }
+
+        public void run() {
+            action.run();
+        }
+    }
+
+    /**
+     * Register a keybind. The dispatcher listens for changes on the keybind
+     * and re-indexes it automatically when it is rebound or cleared.
+     */
+    public void bind(Keybind keybind, Runnable action) {
+        unbind(keybind);
+
+        Binding binding = new Binding(keybind, action);
+        bindings.put(keybind, binding);
+        keybind.addListener(changeListener);
+
+        if (keybind.isSet()) {
+            insert(pack(keybind.isKey(), keybind.getValue()), binding);
+        }
+    }
+
+    /**
+     * Remove a keybind from the dispatch table
+     */
+    public void unbind(Keybind keybind) {
+        Binding binding = bindings.remove(keybind);
+        if (binding == null) return;
+
+        keybind.removeListener(changeListener);
+        if (keybind.isSet()) {
+            remove(pack(keybind.isKey(), keybind.getValue()), binding);
+        }
+    }
+
+    /**
+     * Find the most specific binding for a press, or null if nothing is bound
+     */
+    public Binding resolve(boolean isKey, int value, int modifiers) {
+        Binding[] candidates = slots.get(pack(isKey, value));
+        if (candidates == null) return null;
+
+        for (Binding binding : candidates) {
+            int required = binding.keybind.getModifiers();
+            if ((modifiers & required) == required) {
+                return binding;
+            }
+        }
+        return null;
+    }
+
+    private void onKeybindChanged(Keybind keybind, boolean oldIsKey, int oldValue, int oldModifiers) {
+        Binding binding = bindings.get(keybind);
+        if (binding == null) return;
+
+        if (oldValue != -1) {
+            remove(pack(oldIsKey, oldValue), binding);
+        }
+        if (keybind.isSet()) {
+            insert(pack(keybind.isKey(), keybind.getValue()), binding);
+        }
+    }
+
+    private void insert(int slot, Binding binding) {
+        Binding[] current = slots.getOrDefault(slot, EMPTY);
+        int specificity = Integer.bitCount(binding.keybind.getModifiers());
+
+        // Keep the slot sorted by modifier count, most specific first;
+        // bindings with equal specificity stay in registration order
+        int pos = 0;
+        while (pos < current.length
+                && Integer.bitCount(current[pos].keybind.getModifiers()) >= specificity) {
+            pos++;
+        }
+
+        Binding[] updated = new Binding[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, pos);
+        updated[pos] = binding;
+        System.arraycopy(current, pos, updated, pos + 1, current.length - pos);
+        slots.put(slot, updated);
+    }
+
+    private void remove(int slot, Binding binding) {
+        Binding[] current = slots.get(slot);
+        if (current == null) return;
+
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != binding) continue;
+
+            if (current.length == 1) {
+                slots.remove(slot);
+            } else {
+                Binding[] updated = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                slots.put(slot, updated);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Packs the input type and key/button code into a single int key
+     */
+    private static int pack(boolean isKey, int value) {
+        return (value << 1) | (isKey ? 1 : 0);
+    }
+}
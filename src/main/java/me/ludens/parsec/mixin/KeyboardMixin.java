@@ -0,0 +1,29 @@
+package me.ludens.parsec.mixin;
+
+import me.ludens.parsec.input.InputHandler;
+import net.minecraft.client.Keyboard;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.input.KeyInput;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Feeds GLFW key callbacks into InputHandler.
+ * 
+ * Learning Note: A mixin injects our code into Minecraft's own class.
+ * Here we run at the start (HEAD) of Keyboard.onKey and cancel it when
+ * one of our keybinds consumed the press.
+ */
+@Mixin(Keyboard.class)
+public abstract class KeyboardMixin {
+    @Inject(method = "onKey", at = @At("HEAD"), cancellable = true)
+    private void parsec$onKey(long window, int action, KeyInput input, CallbackInfo ci) {
+        if (window != MinecraftClient.getInstance().getWindow().getHandle()) return;
+
+        if (InputHandler.onKey(input.key(), input.scancode(), action, input.modifiers())) {
+            ci.cancel();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package me.ludens.parsec.mixin;
+
+import me.ludens.parsec.input.InputHandler;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.Mouse;
+import net.minecraft.client.input.MouseInput;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Feeds GLFW mouse button callbacks into InputHandler.
+ */
+@Mixin(Mouse.class)
+public abstract class MouseMixin {
+    @Inject(method = "onMouseButton", at = @At("HEAD"), cancellable = true)
+    private void parsec$onMouseButton(long window, MouseInput input, int action, CallbackInfo ci) {
+        if (window != MinecraftClient.getInstance().getWindow().getHandle()) return;
+
+        if (InputHandler.onMouseButton(input.button(), action, input.modifiers())) {
+            ci.cancel();
+        }
+    }
+}
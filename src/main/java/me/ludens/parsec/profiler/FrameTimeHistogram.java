@@ -0,0 +1,153 @@
+package me.ludens.parsec.profiler;
+
+import java.util.Arrays;
+
+/**
+ * Counts frame times (in microseconds) in log-scaled buckets, and
+ * answers percentile and "mean of the slowest k" questions without
+ * sorting.
+ *
+ * Learning Note: Below 128µs every microsecond has its own bucket;
+ * above that each doubling of time is split into 64 buckets, so a
+ * bucket is never wider than 1/64 (about 1.6%) of the times in it.
+ * 960 buckets cover everything up to about one second.
+ *
+ * The counts and sums live in two Fenwick trees (binary indexed
+ * trees), where adding a frame and finding "the bucket holding the
+ * k-th fastest frame" both take about log2(960) = 10 steps. Within a
+ * bucket we use the mean of the frames in it, which is exact when all
+ * of them had the same time.
+ */
+final class FrameTimeHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    // Longest frame time counted as-is (about one second); longer ones count as this
+    static final int MAX_MICROS = (1 << 20) - 1;
+
+    static final int BUCKETS = bucketOf(MAX_MICROS) + 1;
+
+    // Highest power of two <= BUCKETS, where tree searches start
+    private static final int TOP_STEP = Integer.highestOneBit(BUCKETS);
+
+    // Fenwick trees over the buckets, 1-based
+    private final int[] countTree = new int[BUCKETS + 1];
+    private final long[] sumTree = new long[BUCKETS + 1];
+
+    // Plain per-bucket totals, for the mean inside one bucket
+    private final int[] bucketCounts = new int[BUCKETS];
+    private final long[] bucketSums = new long[BUCKETS];
+
+    private int count = 0;
+    private long sum = 0;
+
+    void add(int micros) {
+        update(clampMicros(micros), 1);
+    }
+
+    void remove(int micros) {
+        update(clampMicros(micros), -1);
+    }
+
+    void clear() {
+        Arrays.fill(countTree, 0);
+        Arrays.fill(sumTree, 0);
+        Arrays.fill(bucketCounts, 0);
+        Arrays.fill(bucketSums, 0);
+        count = 0;
+        sum = 0;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * Approximate time of the k-th fastest frame (1-based)
+     */
+    long kthFastest(int k) {
+        if (count == 0) return 0;
+        k = Math.max(1, Math.min(k, count));
+
+        int bucket = findBucket(k);
+        return bucketSums[bucket] / bucketCounts[bucket];
+    }
+
+    /**
+     * Total time of the k fastest frames
+     */
+    long sumFastest(int k) {
+        if (k <= 0 || count == 0) return 0;
+        if (k >= count) return sum;
+
+        // Walk down the tree, adding up whole buckets left of the one holding the k-th frame
+        int pos = 0;
+        int remaining = k;
+        long total = 0;
+        for (int step = TOP_STEP; step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= BUCKETS && countTree[next] < remaining) {
+                pos = next;
+                remaining -= countTree[next];
+                total += sumTree[next];
+            }
+        }
+
+        // Then the part of that bucket we need, at the bucket's mean
+        return total + remaining * bucketSums[pos] / bucketCounts[pos];
+    }
+
+    /**
+     * Mean time of the k slowest frames
+     */
+    long meanSlowest(int k) {
+        if (count == 0) return 0;
+        k = Math.max(1, Math.min(k, count));
+        return (sum - sumFastest(count - k)) / k;
+    }
+
+    private void update(int micros, int delta) {
+        int bucket = bucketOf(micros);
+        bucketCounts[bucket] += delta;
+        bucketSums[bucket] += (long) delta * micros;
+        count += delta;
+        sum += (long) delta * micros;
+
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            countTree[i] += delta;
+            sumTree[i] += (long) delta * micros;
+        }
+    }
+
+    /**
+     * 0-based index of the bucket holding the k-th fastest frame
+     */
+    private int findBucket(int k) {
+        int pos = 0;
+        int remaining = k;
+        for (int step = TOP_STEP; step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= BUCKETS && countTree[next] < remaining) {
+                pos = next;
+                remaining -= countTree[next];
+            }
+        }
+        return pos;
+    }
+
+    static int bucketOf(int micros) {
+        if (micros < SUB_COUNT) return micros;
+
+        // Keep the top SUB_BITS bits; the shift tells which doubling we're in
+        int shift = 31 - Integer.numberOfLeadingZeros(micros) - (SUB_BITS - 1);
+        return (shift << (SUB_BITS - 1)) + (micros >> shift);
+    }
+
+    private static int clampMicros(int micros) {
+        return Math.max(0, Math.min(micros, MAX_MICROS));
+    }
+}
@@ -0,0 +1,172 @@
+package me.ludens.parsec.profiler;
+
+/**
+ * Records how long each rendered frame took and keeps statistics over
+ * the most recent ones: mean, min/max, p99 and the 1% / 0.1% lows.
+ *
+ * Learning Note: MinecraftClient.getCurrentFps() is an average that is
+ * recalculated once a second, so a single 80ms hitch barely moves it.
+ * The lows are the mean of the slowest 1% (or 0.1%) of frames, which
+ * is what stutter feels like.
+ *
+ * Frame times go into a fixed-size int[] ring (microseconds, no boxing)
+ * and into a FrameTimeHistogram. When the ring is full the oldest frame
+ * is taken out of the histogram again, so the statistics always cover
+ * the last WINDOW frames. Every frame costs a few array writes plus
+ * two short Fenwick tree walks; nothing is sorted and nothing is
+ * allocated. Min and max use monotonic queues, so they stay exact.
+ *
+ * Recording only happens while something has turned it on (the FPS
+ * module's detailed stats), like ModuleProfiler.
+ */
+public class FrameTimeRecorder {
+    // About 30 seconds at 144 FPS; enough frames for 0.1% to mean something
+    public static final int WINDOW = 4096;
+
+    // A longer gap is a pause (menu, loading screen) rather than a slow frame
+    private static final long MAX_FRAME_NANOS = FrameTimeHistogram.MAX_MICROS * 1000L;
+
+    public static final FrameTimeRecorder INSTANCE = new FrameTimeRecorder(WINDOW);
+
+    private final int[] frames;
+    private final FrameTimeHistogram histogram = new FrameTimeHistogram();
+
+    // Sequence numbers of frames whose time is a candidate window min / max.
+    // Times along minQueue only go up, along maxQueue only down.
+    private final long[] minQueue;
+    private final long[] maxQueue;
+    private int minHead, minSize, maxHead, maxSize;
+
+    // Frames recorded so far; frame n sits in frames[n % capacity]
+    private long recorded = 0;
+
+    private boolean enabled = false;
+    private long lastFrameStart = -1;
+
+    public FrameTimeRecorder(int capacity) {
+        this.frames = new int[capacity];
+        this.minQueue = new long[capacity];
+        this.maxQueue = new long[capacity];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn recording on or off. Turning it off drops all recorded frames.
+     */
+    public void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) return;
+        this.enabled = enabled;
+        if (!enabled) clear();
+    }
+
+    /**
+     * Called once per rendered frame with System.nanoTime(); records the
+     * time since the previous call
+     */
+    public void onFrame(long now) {
+        long last = lastFrameStart;
+        lastFrameStart = now;
+        if (last < 0) return;
+
+        long frameNanos = now - last;
+        if (frameNanos > 0 && frameNanos <= MAX_FRAME_NANOS) {
+            record(frameNanos);
+        }
+    }
+
+    /**
+     * Add one frame time
+     */
+    public void record(long frameNanos) {
+        int micros = (int) Math.min(frameNanos / 1000, FrameTimeHistogram.MAX_MICROS);
+        int capacity = frames.length;
+        int slot = (int) (recorded % capacity);
+
+        if (recorded >= capacity) {
+            // Oldest frame leaves the window
+            histogram.remove(frames[slot]);
+            long oldest = recorded - capacity;
+            if (minSize > 0 && minQueue[minHead] == oldest) {
+                minHead = (minHead + 1) % capacity;
+                minSize--;
+            }
+            if (maxSize > 0 && maxQueue[maxHead] == oldest) {
+                maxHead = (maxHead + 1) % capacity;
+                maxSize--;
+            }
+        }
+
+        frames[slot] = micros;
+        histogram.add(micros);
+
+        // Drop queued frames that can no longer be the min / max
+        while (minSize > 0 && timeAt(minQueue[(minHead + minSize - 1) % capacity]) >= micros) {
+            minSize--;
+        }
+        minQueue[(minHead + minSize++) % capacity] = recorded;
+        while (maxSize > 0 && timeAt(maxQueue[(maxHead + maxSize - 1) % capacity]) <= micros) {
+            maxSize--;
+        }
+        maxQueue[(maxHead + maxSize++) % capacity] = recorded;
+
+        recorded++;
+    }
+
+    public void clear() {
+        histogram.clear();
+        recorded = 0;
+        minHead = minSize = 0;
+        maxHead = maxSize = 0;
+        lastFrameStart = -1;
+    }
+
+    /**
+     * Frames currently in the window
+     */
+    public int getCount() {
+        return histogram.getCount();
+    }
+
+    public int getCapacity() {
+        return frames.length;
+    }
+
+    /**
+     * Time of a recent frame in nanoseconds; 0 is the latest
+     */
+    public long getRecent(int age) {
+        if (age < 0 || age >= getCount()) return 0;
+        return timeAt(recorded - 1 - age) * 1000L;
+    }
+
+    /**
+     * Fill in stats over the current window. Percentiles and lows are
+     * accurate to the histogram's buckets (about 1.6%); mean, min and
+     * max are exact to the microsecond.
+     */
+    public void computeStats(FrameTimeStats out) {
+        int count = histogram.getCount();
+        if (count == 0) {
+            out.set(0, 0, 0, 0, 0, 0, 0);
+            return;
+        }
+
+        int p99Rank = Math.min(count, (int) Math.ceil(count * 0.99));
+        out.set(
+            count,
+            histogram.getMean() * 1000L,
+            timeAt(minQueue[minHead]) * 1000L,
+            timeAt(maxQueue[maxHead]) * 1000L,
+            histogram.kthFastest(p99Rank) * 1000L,
+            histogram.meanSlowest((int) Math.ceil(count * 0.01)) * 1000L,
+            histogram.meanSlowest((int) Math.ceil(count * 0.001)) * 1000L
+        );
+    }
+
+    private int timeAt(long frame) {
+        return frames[(int) (frame % frames.length)];
+    }
+}
@@ -0,0 +1,72 @@
+package me.ludens.parsec.profiler;
+
+/**
+ * Summary of the recent frame times, in nanoseconds.
+ * Reused between queries to avoid allocating.
+ */
+public class FrameTimeStats {
+    private int frames;
+    private long mean;
+    private long min;
+    private long max;
+    private long p99;
+    private long low1;
+    private long low01;
+
+    void set(int frames, long mean, long min, long max, long p99, long low1, long low01) {
+        this.frames = frames;
+        this.mean = mean;
+        this.min = min;
+        this.max = max;
+        this.p99 = p99;
+        this.low1 = low1;
+        this.low01 = low01;
+    }
+
+    /**
+     * How many frames these stats cover
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    public long getMean() {
+        return mean;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * 99% of frames were at least this fast
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Mean time of the slowest 1% of frames, the "1% low"
+     */
+    public long getLow1() {
+        return low1;
+    }
+
+    /**
+     * Mean time of the slowest 0.1% of frames, the "0.1% low"
+     */
+    public long getLow01() {
+        return low01;
+    }
+
+    /**
+     * Frames per second for a frame time, 0 if there's no time to go on
+     */
+    public static double toFps(long frameNanos) {
+        return frameNanos <= 0 ? 0 : 1_000_000_000.0 / frameNanos;
+    }
+}
@@ -0,0 +1,96 @@
+package me.ludens.parsec.profiler;
+
+import me.ludens.parsec.systems.HudModule;
+
+import java.util.Arrays;
+
+/**
+ * Per-module render and update timings.
+ * 
+ * Learning Note: The HUD loop and the tick scheduler check isEnabled()
+ * once per pass and only call System.nanoTime() around each module when
+ * profiling is on, so the instrumentation costs nothing when it's off.
+ * Turn it on by enabling the Profiler module.
+ */
+public class ModuleProfiler {
+    private static final int SAMPLES = 256;
+
+    private static boolean enabled = false;
+    private static SampleRing[] renderSamples = new SampleRing[0];
+    private static SampleRing[] updateSamples = new SampleRing[0];
+    private static final long[] scratch = new long[SAMPLES];
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn sampling on or off. Turning it off drops all recorded samples.
+     */
+    public static void setEnabled(boolean enabled) {
+        if (ModuleProfiler.enabled == enabled) return;
+        ModuleProfiler.enabled = enabled;
+
+        if (!enabled) {
+            renderSamples = new SampleRing[0];
+            updateSamples = new SampleRing[0];
+        }
+    }
+
+    /**
+     * Record how long a module's render() took
+     */
+    public static void recordRender(HudModule module, long nanos) {
+        renderSamples = record(renderSamples, module.getIndex(), nanos);
+    }
+
+    /**
+     * Record how long a module's update() took
+     */
+    public static void recordUpdate(HudModule module, long nanos) {
+        updateSamples = record(updateSamples, module.getIndex(), nanos);
+    }
+
+    public static void getRenderStats(HudModule module, ProfilerStats out) {
+        computeStats(renderSamples, module.getIndex(), out);
+    }
+
+    public static void getUpdateStats(HudModule module, ProfilerStats out) {
+        computeStats(updateSamples, module.getIndex(), out);
+    }
+
+    /**
+     * Drop a module's samples, e.g. when it's unregistered and its index
+     * may be given to another module
+     */
+    public static void clearSamples(HudModule module) {
+        int index = module.getIndex();
+        if (index < 0) return;
+        if (index < renderSamples.length) renderSamples[index] = null;
+        if (index < updateSamples.length) updateSamples[index] = null;
+    }
+
+    private static SampleRing[] record(SampleRing[] rings, int index, long nanos) {
+        if (index < 0) return rings;
+
+        // Grows only the first time a module is sampled
+        if (index >= rings.length) {
+            rings = Arrays.copyOf(rings, index + 1);
+        }
+        SampleRing ring = rings[index];
+        if (ring == null) {
+            ring = rings[index] = new SampleRing(SAMPLES);
+        }
+
+        ring.record(nanos);
+        return rings;
+    }
+
+    private static void computeStats(SampleRing[] rings, int index, ProfilerStats out) {
+        if (index < 0 || index >= rings.length || rings[index] == null) {
+            out.set(0, 0, 0);
+            return;
+        }
+        rings[index].computeStats(out, scratch);
+    }
+}
@@ -0,0 +1,29 @@
+package me.ludens.parsec.profiler;
+
+/**
+ * Summary of a module's timings, in nanoseconds.
+ * Reused between queries to avoid allocating.
+ */
+public class ProfilerStats {
+    private long mean;
+    private long p99;
+    private long max;
+
+    void set(long mean, long p99, long max) {
+        this.mean = mean;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public long getMean() {
+        return mean;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,69 @@
+package me.ludens.parsec.profiler;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring buffer of nanosecond timings.
+ * 
+ * Learning Note: Recording a sample just overwrites the oldest slot in a
+ * long[] - no boxing, no allocation - so it's cheap enough to do for
+ * every module on every frame. The running sum makes the mean O(1);
+ * percentiles are only computed when someone asks for them.
+ */
+public class SampleRing {
+    private final long[] samples;
+    private int next = 0;
+    private int count = 0;
+    private long sum = 0;
+
+    public SampleRing(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public void record(long nanos) {
+        if (count == samples.length) {
+            sum -= samples[next];
+        } else {
+            count++;
+        }
+        samples[next] = nanos;
+        sum += nanos;
+        next = (next + 1) % samples.length;
+    }
+
+    public void clear() {
+        next = 0;
+        count = 0;
+        sum = 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return samples.length;
+    }
+
+    public long getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * Compute mean, p99 and max into the given stats object.
+     * 
+     * @param scratch reusable buffer at least getCapacity() long
+     */
+    public void computeStats(ProfilerStats out, long[] scratch) {
+        if (count == 0) {
+            out.set(0, 0, 0);
+            return;
+        }
+
+        System.arraycopy(samples, 0, scratch, 0, count);
+        Arrays.sort(scratch, 0, count);
+
+        int p99Index = Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1);
+        out.set(sum / count, scratch[p99Index], scratch[count - 1]);
+    }
+}
@@ -0,0 +1,53 @@
+package me.ludens.parsec.settings;
+
+/**
+ * An on/off option
+ */
+public class BoolSetting extends Setting<Boolean> {
+    private final boolean defaultValue;
+    private boolean value;
+
+    public BoolSetting(String name, String description, boolean defaultValue) {
+        super(name, description, SettingType.BOOL);
+        this.defaultValue = defaultValue;
+        this.value = defaultValue;
+    }
+
+    public boolean get() {
+        return value;
+    }
+
+    public void set(boolean value) {
+        if (this.value == value) return;
+        this.value = value;
+        changed();
+    }
+
+    public void toggle() {
+        set(!value);
+    }
+
+    public boolean getDefault() {
+        return defaultValue;
+    }
+
+    @Override
+    public Boolean getValue() {
+        return value;
+    }
+
+    @Override
+    public long getBits() {
+        return value ? 1 : 0;
+    }
+
+    @Override
+    public void setBits(long bits) {
+        set(bits != 0);
+    }
+
+    @Override
+    public long getDefaultBits() {
+        return defaultValue ? 1 : 0;
+    }
+}
@@ -0,0 +1,49 @@
+package me.ludens.parsec.settings;
+
+/**
+ * An ARGB color, stored as a packed int (0xAARRGGBB)
+ */
+public class ColorSetting extends Setting<Integer> {
+    private final int defaultValue;
+    private int value;
+
+    public ColorSetting(String name, String description, int defaultValue) {
+        super(name, description, SettingType.COLOR);
+        this.defaultValue = defaultValue;
+        this.value = defaultValue;
+    }
+
+    public int get() {
+        return value;
+    }
+
+    public void set(int argb) {
+        if (this.value == argb) return;
+        this.value = argb;
+        changed();
+    }
+
+    public int getDefault() {
+        return defaultValue;
+    }
+
+    @Override
+    public Integer getValue() {
+        return value;
+    }
+
+    @Override
+    public long getBits() {
+        return value;
+    }
+
+    @Override
+    public void setBits(long bits) {
+        set((int) bits);
+    }
+
+    @Override
+    public long getDefaultBits() {
+        return defaultValue;
+    }
+}
@@ -0,0 +1,68 @@
+package me.ludens.parsec.settings;
+
+/**
+ * A decimal number within [min, max]
+ */
+public class DoubleSetting extends Setting<Double> {
+    private final double defaultValue;
+    private final double min;
+    private final double max;
+    private double value;
+
+    public DoubleSetting(String name, String description, double defaultValue, double min, double max) {
+        super(name, description, SettingType.DOUBLE);
+        this.min = min;
+        this.max = max;
+        this.defaultValue = clamp(defaultValue);
+        this.value = this.defaultValue;
+    }
+
+    public double get() {
+        return value;
+    }
+
+    public void set(double value) {
+        value = clamp(value);
+        if (Double.compare(this.value, value) == 0) return;
+        this.value = value;
+        changed();
+    }
+
+    private double clamp(double value) {
+        // NaN would never compare equal, so treat it as the minimum
+        if (Double.isNaN(value)) return min;
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public double getDefault() {
+        return defaultValue;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public Double getValue() {
+        return value;
+    }
+
+    @Override
+    public long getBits() {
+        return Double.doubleToLongBits(value);
+    }
+
+    @Override
+    public void setBits(long bits) {
+        set(Double.longBitsToDouble(bits));
+    }
+
+    @Override
+    public long getDefaultBits() {
+        return Double.doubleToLongBits(defaultValue);
+    }
+}
@@ -0,0 +1,86 @@
+package me.ludens.parsec.settings;
+
+/**
+ * One constant out of an enum. Stored as the constant's ordinal.
+ *
+ * Learning Note: The config writes the constant's name rather than its
+ * ordinal, so reordering the enum doesn't scramble saved configs.
+ */
+public class EnumSetting<E extends Enum<E>> extends Setting<E> {
+    private final E[] constants;
+    private final int defaultOrdinal;
+    private int ordinal;
+
+    public EnumSetting(String name, String description, E defaultValue) {
+        super(name, description, SettingType.ENUM);
+        this.constants = defaultValue.getDeclaringClass().getEnumConstants();
+        this.defaultOrdinal = defaultValue.ordinal();
+        this.ordinal = defaultOrdinal;
+    }
+
+    public E get() {
+        return constants[ordinal];
+    }
+
+    public void set(E value) {
+        setOrdinal(value.ordinal());
+    }
+
+    /**
+     * Move to the next constant, wrapping around
+     */
+    public void cycle() {
+        setOrdinal((ordinal + 1) % constants.length);
+    }
+
+    private void setOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= constants.length || this.ordinal == ordinal) return;
+        this.ordinal = ordinal;
+        changed();
+    }
+
+    public E getDefault() {
+        return constants[defaultOrdinal];
+    }
+
+    /**
+     * Name of the constant with the given ordinal, or null if out of range
+     */
+    public String getConstantName(int ordinal) {
+        return ordinal >= 0 && ordinal < constants.length ? constants[ordinal].name() : null;
+    }
+
+    /**
+     * Ordinal of the constant with the given name (case-insensitive), or -1
+     */
+    public int ordinalOf(String constantName) {
+        for (E constant : constants) {
+            if (constant.name().equalsIgnoreCase(constantName)) {
+                return constant.ordinal();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public E getValue() {
+        return get();
+    }
+
+    @Override
+    public long getBits() {
+        return ordinal;
+    }
+
+    @Override
+    public void setBits(long bits) {
+        if (bits >= 0 && bits < constants.length) {
+            setOrdinal((int) bits);
+        }
+    }
+
+    @Override
+    public long getDefaultBits() {
+        return defaultOrdinal;
+    }
+}
@@ -0,0 +1,66 @@
+package me.ludens.parsec.settings;
+
+/**
+ * A whole number within [min, max]
+ */
+public class IntSetting extends Setting<Integer> {
+    private final int defaultValue;
+    private final int min;
+    private final int max;
+    private int value;
+
+    public IntSetting(String name, String description, int defaultValue, int min, int max) {
+        super(name, description, SettingType.INT);
+        this.min = min;
+        this.max = max;
+        this.defaultValue = clamp(defaultValue);
+        this.value = this.defaultValue;
+    }
+
+    public int get() {
+        return value;
+    }
+
+    public void set(int value) {
+        value = clamp(value);
+        if (this.value == value) return;
+        this.value = value;
+        changed();
+    }
+
+    private int clamp(int value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public int getDefault() {
+        return defaultValue;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public Integer getValue() {
+        return value;
+    }
+
+    @Override
+    public long getBits() {
+        return value;
+    }
+
+    @Override
+    public void setBits(long bits) {
+        set((int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, bits)));
+    }
+
+    @Override
+    public long getDefaultBits() {
+        return defaultValue;
+    }
+}
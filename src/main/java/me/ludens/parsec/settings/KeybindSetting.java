@@ -0,0 +1,43 @@
+package me.ludens.parsec.settings;
+
+import me.ludens.parsec.utils.Keybind;
+
+/**
+ * A keybind option. Wraps a Keybind instance so anything already
+ * listening on that Keybind (like the input dispatcher) stays attached.
+ */
+public class KeybindSetting extends Setting<Keybind> {
+    private final Keybind keybind;
+    private final long defaultBits;
+
+    public KeybindSetting(String name, String description, Keybind keybind) {
+        super(name, description, SettingType.KEYBIND);
+        this.keybind = keybind;
+        this.defaultBits = keybind.toBits();
+        keybind.addListener((changed, oldIsKey, oldValue, oldModifiers) -> changed());
+    }
+
+    public Keybind get() {
+        return keybind;
+    }
+
+    @Override
+    public Keybind getValue() {
+        return keybind;
+    }
+
+    @Override
+    public long getBits() {
+        return keybind.toBits();
+    }
+
+    @Override
+    public void setBits(long bits) {
+        keybind.setBits(bits);
+    }
+
+    @Override
+    public long getDefaultBits() {
+        return defaultBits;
+    }
+}
@@ -0,0 +1,123 @@
+package me.ludens.parsec.settings;
+
+import java.util.Arrays;
+
+/**
+ * A single configurable value on a module.
+ *
+ * Learning Note: Every subclass stores its value as a primitive field and
+ * exposes typed get()/set() methods, so reading a setting in render() never
+ * boxes. For generic code (config, GUI, diffing) each value can also be
+ * read and written as a raw long - its "bits" - without knowing the type:
+ * ints and colors are stored as-is, doubles as their IEEE bits, booleans as
+ * 0/1, enums as their ordinal and keybinds in packed form.
+ */
+public abstract class Setting<T> {
+    private final String name;
+    private final String description;
+    private final SettingType type;
+
+    // Position in the owning module's SettingTable, -1 until registered
+    private int index = -1;
+
+    private Listener[] listeners = new Listener[0];
+
+    /**
+     * Called after a setting's value changes
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onChanged(Setting<?> setting);
+    }
+
+    protected Setting(String name, String description, SettingType type) {
+        this.name = name;
+        this.description = description;
+        this.type = type;
+    }
+
+    /**
+     * The current value, boxed. Prefer the typed get() of the subclass in hot code.
+     */
+    public abstract T getValue();
+
+    /**
+     * The current value as raw bits (see class docs)
+     */
+    public abstract long getBits();
+
+    /**
+     * Set the value from raw bits. Out-of-range values are clamped.
+     */
+    public abstract void setBits(long bits);
+
+    /**
+     * The default value as raw bits
+     */
+    public abstract long getDefaultBits();
+
+    public boolean isDefault() {
+        return getBits() == getDefaultBits();
+    }
+
+    /**
+     * Restore the default value
+     */
+    public void reset() {
+        setBits(getDefaultBits());
+    }
+
+    public void addListener(Listener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    public void removeListener(Listener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                Listener[] updated = new Listener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Subclasses call this after their value actually changed
+     */
+    protected void changed() {
+        for (Listener listener : listeners) {
+            listener.onChanged(this);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public SettingType getType() {
+        return type;
+    }
+
+    /**
+     * Position of this setting in its module's SettingTable, or -1
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + getValue();
+    }
+}
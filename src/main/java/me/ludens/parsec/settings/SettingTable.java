@@ -0,0 +1,88 @@
+package me.ludens.parsec.settings;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The settings of one module, frozen in declaration order.
+ *
+ * Learning Note: This is built once when the module is registered. The
+ * config codec, the GUI and the diffing code just walk this array (or look
+ * a name up in the map) - nothing is discovered with reflection, and the
+ * table never changes afterwards, so it can be shared with other threads.
+ */
+public final class SettingTable {
+    public static final SettingTable EMPTY = new SettingTable(List.of());
+
+    private final Setting<?>[] settings;
+    private final List<Setting<?>> view;
+    private final Map<String, Setting<?>> byName = new HashMap<>();
+    private final long[] defaultBits;
+
+    public SettingTable(List<Setting<?>> settings) {
+        this.settings = settings.toArray(new Setting<?>[0]);
+        this.view = Collections.unmodifiableList(Arrays.asList(this.settings));
+        this.defaultBits = new long[this.settings.length];
+
+        for (int i = 0; i < this.settings.length; i++) {
+            Setting<?> setting = this.settings[i];
+            if (byName.putIfAbsent(setting.getName(), setting) != null) {
+                throw new IllegalArgumentException("Duplicate setting name: " + setting.getName());
+            }
+            setting.setIndex(i);
+            defaultBits[i] = setting.getDefaultBits();
+        }
+    }
+
+    public int size() {
+        return settings.length;
+    }
+
+    public Setting<?> get(int index) {
+        return settings[index];
+    }
+
+    /**
+     * Find a setting by name, or null if there is none
+     */
+    public Setting<?> get(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * All settings in declaration order (read-only)
+     */
+    public List<Setting<?>> asList() {
+        return view;
+    }
+
+    /**
+     * Copy every setting's current value into a new array, by index
+     */
+    public long[] captureBits() {
+        long[] bits = new long[settings.length];
+        for (int i = 0; i < settings.length; i++) {
+            bits[i] = settings[i].getBits();
+        }
+        return bits;
+    }
+
+    /**
+     * A fresh copy of the default values, by index
+     */
+    public long[] defaultBits() {
+        return defaultBits.clone();
+    }
+
+    /**
+     * Reset every setting to its default
+     */
+    public void resetAll() {
+        for (Setting<?> setting : settings) {
+            setting.reset();
+        }
+    }
+}
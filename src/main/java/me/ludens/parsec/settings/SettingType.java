@@ -0,0 +1,17 @@
+package me.ludens.parsec.settings;
+
+/**
+ * The kinds of settings a module can declare.
+ *
+ * Learning Note: The config codec and the GUI switch on this instead of
+ * using instanceof chains or reflection, so adding a module setting never
+ * needs changes there - only adding a new kind of setting does.
+ */
+public enum SettingType {
+    INT,
+    DOUBLE,
+    BOOL,
+    COLOR,
+    ENUM,
+    KEYBIND
+}
@@ -0,0 +1,129 @@
+package me.ludens.parsec.state;
+
+/**
+ * What the client looked like at one tick, as plain numbers.
+ * Get the latest one from {@link ClientStateSampler#get()}.
+ *
+ * Learning Note: Every field is a primitive, copied out of Minecraft's
+ * objects once per tick by ClientStateSampler. Modules read these
+ * instead of the player and the client directly, so five modules
+ * showing position, speed or ping cost one lookup each per tick, not
+ * five. Only the sampler writes to it; modules only use the getters.
+ *
+ * The sampler reuses two instances in turn, so don't keep one across
+ * ticks - call get() again instead.
+ */
+public final class ClientState {
+    // Client tick this was sampled on, and System.nanoTime() at the time
+    long tick;
+    long sampledAt;
+
+    // False in menus, while loading, etc.; the player fields are zero then
+    boolean inWorld;
+
+    double x;
+    double y;
+    double z;
+    int blockX;
+    int blockY;
+    int blockZ;
+    float yaw;
+    float pitch;
+    boolean onGround;
+
+    // Blocks per second, from the distance moved since the previous tick
+    double horizontalSpeed;
+    double verticalSpeed;
+
+    int fps;
+    // Milliseconds, -1 if the server hasn't told us yet
+    int ping;
+
+    long memoryUsed;
+    long memoryMax;
+
+    long worldTime;
+    long timeOfDay;
+
+    ClientState() {}
+
+    public long getTick() {
+        return tick;
+    }
+
+    public long getSampledAt() {
+        return sampledAt;
+    }
+
+    public boolean isInWorld() {
+        return inWorld;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getZ() {
+        return z;
+    }
+
+    public int getBlockX() {
+        return blockX;
+    }
+
+    public int getBlockY() {
+        return blockY;
+    }
+
+    public int getBlockZ() {
+        return blockZ;
+    }
+
+    public float getYaw() {
+        return yaw;
+    }
+
+    public float getPitch() {
+        return pitch;
+    }
+
+    public boolean isOnGround() {
+        return onGround;
+    }
+
+    public double getHorizontalSpeed() {
+        return horizontalSpeed;
+    }
+
+    public double getVerticalSpeed() {
+        return verticalSpeed;
+    }
+
+    public int getFps() {
+        return fps;
+    }
+
+    public int getPing() {
+        return ping;
+    }
+
+    public long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    public long getMemoryMax() {
+        return memoryMax;
+    }
+
+    public long getWorldTime() {
+        return worldTime;
+    }
+
+    public long getTimeOfDay() {
+        return timeOfDay;
+    }
+}
@@ -0,0 +1,108 @@
+package me.ludens.parsec.state;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.client.network.PlayerListEntry;
+
+/**
+ * Samples the client once per tick into a {@link ClientState}.
+ * Driven by ModuleManager right before modules update.
+ *
+ * Learning Note: There are two ClientState objects. Each tick we fill
+ * the one that isn't published and then publish it with one volatile
+ * write, so readers always see a complete sample and sampling never
+ * allocates. The one we're about to overwrite was published two ticks
+ * ago, and nothing should still be reading it by then.
+ */
+public final class ClientStateSampler {
+    private static final int TICKS_PER_SECOND = 20;
+
+    private static final ClientState[] buffers = { new ClientState(), new ClientState() };
+    private static volatile ClientState current = buffers[0];
+    private static int back = 1;
+
+    private ClientStateSampler() {}
+
+    /**
+     * The state sampled on the latest tick
+     */
+    public static ClientState get() {
+        return current;
+    }
+
+    /**
+     * Fill the back buffer from the live client and publish it
+     */
+    public static void sample(MinecraftClient client, long tick, long now) {
+        ClientState previous = current;
+        ClientState state = buffers[back];
+
+        state.tick = tick;
+        state.sampledAt = now;
+        state.fps = client.getCurrentFps();
+
+        Runtime runtime = Runtime.getRuntime();
+        state.memoryMax = runtime.maxMemory();
+        state.memoryUsed = runtime.totalMemory() - runtime.freeMemory();
+
+        ClientPlayerEntity player = client.player;
+        state.inWorld = player != null && client.world != null;
+        if (state.inWorld) {
+            samplePlayer(client, player, previous, state);
+        } else {
+            clearPlayer(state);
+        }
+
+        current = state;
+        back ^= 1;
+    }
+
+    private static void samplePlayer(MinecraftClient client, ClientPlayerEntity player,
+                                     ClientState previous, ClientState state) {
+        state.x = player.getX();
+        state.y = player.getY();
+        state.z = player.getZ();
+        state.blockX = (int) Math.floor(state.x);
+        state.blockY = (int) Math.floor(state.y);
+        state.blockZ = (int) Math.floor(state.z);
+        state.yaw = player.getYaw();
+        state.pitch = player.getPitch();
+        state.onGround = player.isOnGround();
+
+        // Speed only makes sense against the tick right before this one
+        if (previous.inWorld && previous.tick == state.tick - 1) {
+            double dx = state.x - previous.x;
+            double dz = state.z - previous.z;
+            state.horizontalSpeed = Math.sqrt(dx * dx + dz * dz) * TICKS_PER_SECOND;
+            state.verticalSpeed = (state.y - previous.y) * TICKS_PER_SECOND;
+        } else {
+            state.horizontalSpeed = 0;
+            state.verticalSpeed = 0;
+        }
+
+        PlayerListEntry entry = client.getNetworkHandler() == null
+            ? null
+            : client.getNetworkHandler().getPlayerListEntry(player.getUuid());
+        state.ping = entry == null ? -1 : entry.getLatency();
+
+        state.worldTime = client.world.getTime();
+        state.timeOfDay = client.world.getTimeOfDay();
+    }
+
+    private static void clearPlayer(ClientState state) {
+        state.x = 0;
+        state.y = 0;
+        state.z = 0;
+        state.blockX = 0;
+        state.blockY = 0;
+        state.blockZ = 0;
+        state.yaw = 0;
+        state.pitch = 0;
+        state.onGround = false;
+        state.horizontalSpeed = 0;
+        state.verticalSpeed = 0;
+        state.ping = -1;
+        state.worldTime = 0;
+        state.timeOfDay = 0;
+    }
+}
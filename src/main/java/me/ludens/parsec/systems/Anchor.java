@@ -0,0 +1,82 @@
+package me.ludens.parsec.systems;
+
+/**
+ * The screen corner or edge a module's x/y offset is measured from.
+ *
+ * Learning Note: An offset from the top-left corner only works for one
+ * window size. A module anchored to BOTTOM_RIGHT with offset (10, 10)
+ * stays 10 pixels from that corner however the window is resized or
+ * the GUI scale changes; offsets always point into the screen.
+ */
+public enum Anchor {
+    TOP_LEFT(0, 0),
+    TOP(1, 0),
+    TOP_RIGHT(2, 0),
+    LEFT(0, 1),
+    RIGHT(2, 1),
+    BOTTOM_LEFT(0, 2),
+    BOTTOM(1, 2),
+    BOTTOM_RIGHT(2, 2);
+
+    // 0 = left/top edge, 1 = centered, 2 = right/bottom edge
+    private final int column;
+    private final int row;
+
+    Anchor(int column, int row) {
+        this.column = column;
+        this.row = row;
+    }
+
+    /**
+     * Left edge of a box of the given width, offset into the screen from this anchor
+     */
+    public int placeX(int offset, int width, int screenWidth) {
+        return place(column, offset, width, screenWidth);
+    }
+
+    /**
+     * Top edge of a box of the given height, offset into the screen from this anchor
+     */
+    public int placeY(int offset, int height, int screenHeight) {
+        return place(row, offset, height, screenHeight);
+    }
+
+    /**
+     * The offset that places a box of the given width with its left edge at x;
+     * the reverse of placeX()
+     */
+    public int offsetX(int x, int width, int screenWidth) {
+        return offset(column, x, width, screenWidth);
+    }
+
+    /**
+     * The offset that places a box of the given height with its top edge at y;
+     * the reverse of placeY()
+     */
+    public int offsetY(int y, int height, int screenHeight) {
+        return offset(row, y, height, screenHeight);
+    }
+
+    /**
+     * Modules on the bottom edge stack upwards, all others downwards
+     */
+    public boolean stacksUp() {
+        return row == 2;
+    }
+
+    private static int place(int side, int offset, int size, int screen) {
+        return switch (side) {
+            case 0 -> offset;
+            case 1 -> (screen - size) / 2 + offset;
+            default -> screen - size - offset;
+        };
+    }
+
+    private static int offset(int side, int position, int size, int screen) {
+        return switch (side) {
+            case 0 -> position;
+            case 1 -> position - (screen - size) / 2;
+            default -> screen - size - position;
+        };
+    }
+}
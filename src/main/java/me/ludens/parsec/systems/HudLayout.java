@@ -0,0 +1,120 @@
+package me.ludens.parsec.systems;
+
+import net.minecraft.client.font.TextRenderer;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns each enabled module's anchor, offset and stacking group into a
+ * position on screen.
+ *
+ * Learning Note: Positions only depend on the window size, the GUI
+ * scale, which modules are enabled and the modules' own sizes and
+ * settings. We remember those inputs and only lay out again when one
+ * of them changes, so a normal frame just checks a few numbers and
+ * the modules draw at coordinates computed earlier.
+ *
+ * Modules with the same anchor and stacking group are placed one after
+ * another (in registration order) instead of on top of each other.
+ */
+public final class HudLayout {
+    // Space between the backgrounds of stacked modules
+    private static final int GAP = 2;
+
+    private static int screenWidth = -1;
+    private static int screenHeight = -1;
+    private static int scaleFactor = -1;
+    private static List<HudModule> laidOut = null;
+    private static boolean dirty = true;
+    private static long version = 0;
+
+    // Last module placed in each stack, reused between layouts
+    private static final Map<Anchor, Map<String, HudModule>> stacks = new EnumMap<>(Anchor.class);
+
+    private HudLayout() {}
+
+    /**
+     * Lay out again on the next frame. Called when a module moves,
+     * resizes or changes its anchor.
+     */
+    public static void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Bumped on every layout, so anything showing module positions
+     * (like the HUD editor) knows when to refresh
+     */
+    public static long getVersion() {
+        return version;
+    }
+
+    /**
+     * Make sure the enabled modules have positions for this frame.
+     * Called by the HUD render loop before any module draws.
+     */
+    public static void update(List<HudModule> modules, TextRenderer textRenderer,
+                              int width, int height, int scale) {
+        for (int i = 0, n = modules.size(); i < n; i++) {
+            if (modules.get(i).prepareLayout(textRenderer)) {
+                dirty = true;
+            }
+        }
+
+        if (!dirty && modules == laidOut && width == screenWidth
+                && height == screenHeight && scale == scaleFactor) {
+            return;
+        }
+
+        layout(modules, width, height);
+        laidOut = modules;
+        screenWidth = width;
+        screenHeight = height;
+        scaleFactor = scale;
+        dirty = false;
+        version++;
+    }
+
+    private static void layout(List<HudModule> modules, int width, int height) {
+        for (Map<String, HudModule> stack : stacks.values()) {
+            stack.clear();
+        }
+
+        for (int i = 0, n = modules.size(); i < n; i++) {
+            HudModule module = modules.get(i);
+            int boundsWidth = module.getBoundsWidth();
+            int boundsHeight = module.getBoundsHeight();
+            Anchor anchor = module.getAnchor();
+
+            // Offsets are measured to the content, the background pads around it
+            int left = anchor.placeX(module.getX(), module.getContentWidth(), width) - HudModule.PADDING;
+            int top = anchor.placeY(module.getY(), module.getContentHeight(), height) - HudModule.PADDING;
+
+            // Nothing drawn yet, so it doesn't take up room in a stack
+            String group = module.getStackGroup();
+            if (group != null && module.getContentWidth() > 0) {
+                Map<String, HudModule> stack = stacks.computeIfAbsent(anchor, key -> new HashMap<>());
+                HudModule previous = stack.put(group, module);
+                if (previous != null) {
+                    if (anchor.stacksUp()) {
+                        top = Math.min(top, previous.getBoundsTop() - GAP - boundsHeight);
+                    } else {
+                        top = Math.max(top, previous.getBoundsTop() + previous.getBoundsHeight() + GAP);
+                    }
+                }
+            }
+
+            // Keep it on screen, even if the window got smaller than the offset
+            left = clamp(left, width - boundsWidth);
+            top = clamp(top, height - boundsHeight);
+            module.setBounds(left, top);
+        }
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+}
@@ -1,45 +1,181 @@
 package me.ludens.parsec.systems;
 
+import me.ludens.parsec.Parsec;
+import me.ludens.parsec.settings.ColorSetting;
+import me.ludens.parsec.settings.EnumSetting;
+import me.ludens.parsec.settings.IntSetting;
+import me.ludens.parsec.settings.KeybindSetting;
+import me.ludens.parsec.settings.Setting;
+import me.ludens.parsec.settings.SettingTable;
 import me.ludens.parsec.utils.Keybind;
+import me.ludens.parsec.utils.TextBuffer;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Base class for all HUD modules.
  * UPDATED to use the new Keybind system (similar to Meteor Client)
  * 
  * Learning Note: This now uses our custom Keybind class instead of
  * Minecraft's KeyBinding, giving us more flexibility and control.
+ * 
+ * Everything saved in the config is a Setting. The base class declares
+ * position, colors and keybind; subclasses add their own options with
+ * addSetting() in their constructor, e.g.
+ * {@code private final BoolSetting shadow = addSetting(new BoolSetting("shadow", "Draw text shadow", true));}
+ *
+ * Where a module is drawn comes from HudLayout: x/y are an offset from
+ * the module's anchor, and render() draws at getRenderX()/getRenderY().
  */
 public abstract class HudModule {
+    public static final int DEFAULT_BACKGROUND_COLOR = 0xAA000000;
+    public static final int DEFAULT_TEXT_COLOR = 0xFFFFFFFF;
+
+    // Largest x/y offset from the anchor, either way (centered anchors can go negative)
+    public static final int MAX_POSITION = 4096;
+
+    // Background drawn around the content on every side
+    public static final int PADDING = 5;
+    // Height of one line of display text
+    public static final int TEXT_HEIGHT = 10;
+
     protected final String name;
     protected final String description;
     protected final Category category;
     
     private boolean enabled = false;
+
+    // Slot in ModuleManager's registry, -1 while unregistered. Read by the render thread.
+    private volatile int index = -1;
     
-    protected int x;
-    protected int y;
+    // Settings declared so far; frozen into settingTable at registration
+    private List<Setting<?>> declaredSettings = new ArrayList<>();
+    private SettingTable settingTable = null;
+
+    protected final IntSetting x;
+    protected final IntSetting y;
+    protected final EnumSetting<Anchor> anchor;
+
+    // Modules sharing an anchor and group are stacked by HudLayout; null to never stack
+    private String stackGroup = null;
     
-    protected int backgroundColor = 0xAA000000;
-    protected int textColor = 0xFFFFFFFF;
+    protected final ColorSetting backgroundColor;
+    protected final ColorSetting textColor;
     
     // NEW: Use our custom Keybind instead of Minecraft's KeyBinding
-    protected Keybind keybind = new Keybind();
+    protected final Keybind keybind = new Keybind();
+
+    // Set whenever persisted state changes; ConfigManager saves only dirty modules
+    private boolean dirty = false;
+
+    // Update scheduling, driven by ModuleManager.tick()
+    private UpdateInterval updateInterval = UpdateInterval.EVERY_TICK;
+    private long nextUpdate = 0; // tick number or nanoTime, depending on the interval
+    private boolean updatePending = true;
+
+    // Display text, written in place, and its measured size, recomputed only when marked dirty
+    private final TextBuffer displayText = new TextBuffer();
+    private boolean layoutDirty = true;
+    private TextRenderer layoutRenderer;
+    private int contentWidth;
+    private int contentHeight;
+
+    // Background bounds placed by HudLayout; content is drawn inside the padding
+    private int boundsLeft;
+    private int boundsTop;
 
     public HudModule(String name, String description, Category category, int x, int y) {
+        this(name, description, category, Anchor.TOP_LEFT, x, y);
+    }
+
+    /**
+     * For modules declared through a ModuleRegistry factory: the name,
+     * description and category come from the declaration
+     */
+    protected HudModule(ModuleEntry entry, int x, int y) {
+        this(entry.name, entry.description, entry.category, Anchor.TOP_LEFT, x, y);
+    }
+
+    protected HudModule(ModuleEntry entry, Anchor anchor, int x, int y) {
+        this(entry.name, entry.description, entry.category, anchor, x, y);
+    }
+
+    public HudModule(String name, String description, Category category, Anchor anchor, int x, int y) {
         this.name = name;
         this.description = description;
         this.category = category;
-        this.x = x;
-        this.y = y;
+
+        this.x = addSetting(new IntSetting("x", "Horizontal offset from the anchor", x, -MAX_POSITION, MAX_POSITION));
+        this.y = addSetting(new IntSetting("y", "Vertical offset from the anchor", y, -MAX_POSITION, MAX_POSITION));
+        this.anchor = addSetting(new EnumSetting<>("anchor", "Screen corner or edge to position from", anchor));
+        this.backgroundColor = addSetting(new ColorSetting("backgroundColor", "Background color", DEFAULT_BACKGROUND_COLOR));
+        this.textColor = addSetting(new ColorSetting("textColor", "Text color", DEFAULT_TEXT_COLOR));
+        addSetting(new KeybindSetting("keybind", "Key that toggles this module", keybind));
+    }
+
+    /**
+     * Declare a setting. Call from the constructor, before the module is registered.
+     * 
+     * @return the setting, so it can be assigned to a field in one line
+     */
+    protected <S extends Setting<?>> S addSetting(S setting) {
+        if (declaredSettings == null) {
+            throw new IllegalStateException("Settings of " + name + " are already frozen");
+        }
+        declaredSettings.add(setting);
+        setting.addListener(this::onSettingChanged);
+        return setting;
+    }
+
+    /**
+     * Any setting change may move or recolor the module, and needs saving
+     */
+    private void onSettingChanged(Setting<?> setting) {
+        layoutDirty = true;
+        if (setting == x || setting == y || setting == anchor) {
+            HudLayout.invalidate();
+        }
+        markDirty();
+    }
+
+    /**
+     * This module's settings in declaration order.
+     * 
+     * Learning Note: The table is built on first use, which ModuleManager
+     * forces at registration. After that no more settings can be added.
+     */
+    public SettingTable getSettings() {
+        if (settingTable == null) {
+            settingTable = new SettingTable(declaredSettings);
+            declaredSettings = null;
+        }
+        return settingTable;
     }
 
     /**
      * Render the module on screen
+     * 
+     * Learning Note: This runs every frame, so keep it to drawing state
+     * that update() already prepared.
      */
     public abstract void render(DrawContext drawContext, TextRenderer textRenderer);
 
+    /**
+     * Prepare what render() draws.
+     * Called on the client tick according to getUpdateInterval().
+     *
+     * Learning Note: Read values like position or FPS from
+     * ClientStateSampler.get(), which was sampled once for every module
+     * at the start of this tick, rather than from the client itself.
+     */
+    public void update(MinecraftClient client) {
+        // Override in subclasses if needed
+    }
+
     /**
      * Called when the module is enabled
      */
@@ -63,16 +199,25 @@ public abstract class HudModule {
 
     /**
      * Enable or disable the module
+     * 
+     * Learning Note: Enabled modules are subscribed to the event bus, so
+     * any {@code @EventHandler} methods they declare only receive events
+     * while the module is on.
      */
     public void setEnabled(boolean enabled) {
         if (this.enabled == enabled) return;
         
         this.enabled = enabled;
+        markDirty();
+        ModuleManager.INSTANCE.onEnabledChanged(this);
         
         if (enabled) {
+            updatePending = true; // Update on the next tick
+            Parsec.EVENT_BUS.subscribe(this);
             onEnable();
         } else {
             onDisable();
+            Parsec.EVENT_BUS.unsubscribe(this);
         }
     }
 
@@ -92,12 +237,104 @@ public abstract class HudModule {
     public void updateColor(String hex, int alpha) {
         try {
             int rgb = Integer.parseInt(hex.replace("#", ""), 16);
-            this.backgroundColor = (alpha << 24) | (rgb & 0xFFFFFF);
+            setBackgroundColor((alpha << 24) | (rgb & 0xFFFFFF));
         } catch (NumberFormatException e) {
             // Invalid hex color, ignore
         }
     }
 
+    /**
+     * Publish the text this module displays.
+     * 
+     * Learning Note: The base class caches the measured width and the
+     * background rectangle for this text. Only call this when the value
+     * actually changed - steady frames then do no string building or
+     * measuring at all.
+     */
+    protected void setDisplayText(String text) {
+        if (displayText.contentEquals(text)) return;
+        displayText.clear().append(text);
+        layoutDirty = true;
+    }
+
+    /**
+     * Rewrite the display text in place, without building a String.
+     * Returns the module's buffer, emptied; append the new text to it.
+     *
+     * Example usage: editDisplayText().append(fps).append(" FPS");
+     */
+    protected TextBuffer editDisplayText() {
+        layoutDirty = true;
+        return displayText.clear();
+    }
+
+    protected CharSequence getDisplayText() {
+        return displayText;
+    }
+
+    /**
+     * Draw the published display text with its background,
+     * at the position HudLayout computed
+     */
+    protected void drawDisplayText(DrawContext drawContext, TextRenderer textRenderer) {
+        if (displayText.isEmpty()) return;
+
+        drawContext.fill(boundsLeft, boundsTop, boundsLeft + getBoundsWidth(), boundsTop + getBoundsHeight(),
+            backgroundColor.get());
+        drawContext.drawText(textRenderer, displayText, getRenderX(), getRenderY(), textColor.get(), true);
+    }
+
+    /**
+     * Report the size of what render() draws, without the padding, via
+     * setContentSize(). Called before layout whenever the module was
+     * marked dirty. The default measures the display text.
+     */
+    protected void measure(TextRenderer textRenderer) {
+        if (displayText.isEmpty()) {
+            setContentSize(0, 0);
+        } else {
+            setContentSize(textRenderer.getWidth(displayText), TEXT_HEIGHT);
+        }
+    }
+
+    protected final void setContentSize(int width, int height) {
+        if (contentWidth == width && contentHeight == height) return;
+        contentWidth = width;
+        contentHeight = height;
+        HudLayout.invalidate();
+    }
+
+    /**
+     * Measure again if needed
+     *
+     * @return true if the content size changed
+     */
+    boolean prepareLayout(TextRenderer textRenderer) {
+        if (!layoutDirty && layoutRenderer == textRenderer) return false;
+
+        int width = contentWidth;
+        int height = contentHeight;
+        measure(textRenderer);
+        layoutRenderer = textRenderer;
+        layoutDirty = false;
+        return width != contentWidth || height != contentHeight;
+    }
+
+    /**
+     * Called by HudLayout with the top-left corner of the background
+     */
+    void setBounds(int left, int top) {
+        boundsLeft = left;
+        boundsTop = top;
+    }
+
+    /**
+     * Measure again before the next frame, e.g. after changing what render() draws
+     */
+    protected void invalidateLayout() {
+        layoutDirty = true;
+    }
+
     /**
      * Draw a background rectangle behind text
      */
@@ -106,15 +343,35 @@ public abstract class HudModule {
     }
 
     protected void drawBackground(DrawContext drawContext, int width, int height) {
+        int x = getRenderX();
+        int y = getRenderY();
         drawContext.fill(
-            x - 5,
-            y - 5,
-            x + width + 5,
-            y + height + 5,
-            backgroundColor
+            x - PADDING,
+            y - PADDING,
+            x + width + PADDING,
+            y + height + PADDING,
+            backgroundColor.get()
         );
     }
 
+    /**
+     * Run update() if it's due, and schedule the next one
+     * 
+     * @return true if update() ran
+     */
+    boolean tick(MinecraftClient client, long tickCount, long now) {
+        if (updateInterval.isTickBased()) {
+            if (!updatePending && tickCount < nextUpdate) return false;
+            nextUpdate = tickCount + updateInterval.getTicks();
+        } else {
+            if (!updatePending && now - nextUpdate < 0) return false;
+            nextUpdate = now + updateInterval.getNanos();
+        }
+        updatePending = false;
+        update(client);
+        return true;
+    }
+
     // Getters and setters
     public String getName() {
         return name;
@@ -132,36 +389,130 @@ public abstract class HudModule {
         return enabled;
     }
 
+    /**
+     * Slot of this module in ModuleManager's registry, or -1 if unregistered
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    public UpdateInterval getUpdateInterval() {
+        return updateInterval;
+    }
+
+    protected void setUpdateInterval(UpdateInterval updateInterval) {
+        this.updateInterval = updateInterval;
+        this.updatePending = true;
+    }
+
     public int getX() {
-        return x;
+        return x.get();
     }
 
     public void setX(int x) {
-        this.x = x;
+        this.x.set(x);
     }
 
     public int getY() {
-        return y;
+        return y.get();
     }
 
     public void setY(int y) {
-        this.y = y;
+        this.y.set(y);
+    }
+
+    public Anchor getAnchor() {
+        return anchor.get();
+    }
+
+    public void setAnchor(Anchor anchor) {
+        this.anchor.set(anchor);
+    }
+
+    public String getStackGroup() {
+        return stackGroup;
+    }
+
+    /**
+     * Stack this module with others of the same anchor and group instead
+     * of letting them overlap. Call from the constructor.
+     */
+    protected void setStackGroup(String stackGroup) {
+        this.stackGroup = stackGroup;
+        HudLayout.invalidate();
+    }
+
+    /**
+     * Where render() should draw: the top-left of the content, from the last layout
+     */
+    public int getRenderX() {
+        return boundsLeft + PADDING;
+    }
+
+    public int getRenderY() {
+        return boundsTop + PADDING;
+    }
+
+    public int getContentWidth() {
+        return contentWidth;
+    }
+
+    public int getContentHeight() {
+        return contentHeight;
+    }
+
+    /**
+     * Bounds of the background on screen, from the last layout
+     */
+    public int getBoundsLeft() {
+        return boundsLeft;
+    }
+
+    public int getBoundsTop() {
+        return boundsTop;
+    }
+
+    public int getBoundsWidth() {
+        return contentWidth + 2 * PADDING;
+    }
+
+    public int getBoundsHeight() {
+        return contentHeight + 2 * PADDING;
     }
 
     public int getBackgroundColor() {
-        return backgroundColor;
+        return backgroundColor.get();
     }
 
     public void setBackgroundColor(int backgroundColor) {
-        this.backgroundColor = backgroundColor;
+        this.backgroundColor.set(backgroundColor);
     }
 
     public int getTextColor() {
-        return textColor;
+        return textColor.get();
     }
 
     public void setTextColor(int textColor) {
-        this.textColor = textColor;
+        this.textColor.set(textColor);
+    }
+
+    /**
+     * Check if this module has unsaved changes
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public void clearDirty() {
+        dirty = false;
     }
 
     // NEW: Keybind getter/setter
@@ -169,7 +520,11 @@ public abstract class HudModule {
         return keybind;
     }
 
+    /**
+     * Copies the given binding into this module's keybind, so anything
+     * listening on the existing Keybind instance stays attached.
+     */
     public void setKeybind(Keybind keybind) {
-        this.keybind = keybind;
+        this.keybind.set(keybind.isKey(), keybind.getValue(), keybind.getModifiers());
     }
 }
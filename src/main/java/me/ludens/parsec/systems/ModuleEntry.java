@@ -0,0 +1,89 @@
+package me.ludens.parsec.systems;
+
+import java.util.function.Function;
+
+/**
+ * A registered module: what we know before constructing it, plus the
+ * instance once it exists.
+ *
+ * Learning Note: Lists of modules (the ClickGui, search results) are
+ * lists of entries, so showing a module's name doesn't construct it.
+ * Use ModuleManager.load() when the module itself is needed.
+ */
+public final class ModuleEntry {
+    final String name;
+    final String description;
+    final Category category;
+    private final Function<ModuleEntry, ? extends HudModule> factory;
+
+    // Id of the mod that registered it, or null if registered directly
+    final String owner;
+
+    // Constructed as soon as it's registered: it was registered already
+    // constructed, or it binds a key by default (which has to work from the start)
+    final boolean eager;
+
+    // Slot in ModuleManager's registry, -1 once unregistered; written under the ModuleManager lock
+    int index = -1;
+
+    // Null until constructed; written under the ModuleManager lock
+    volatile HudModule module;
+
+    // Set if the factory threw, so we don't retry every lookup
+    boolean failed = false;
+
+    ModuleEntry(String name, String description, Category category, Function<ModuleEntry, ? extends HudModule> factory,
+                String owner, boolean eager) {
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        this.factory = factory;
+        this.owner = owner;
+        this.eager = eager;
+    }
+
+    ModuleEntry(HudModule module, String owner) {
+        this(module.getName(), module.getDescription(), module.getCategory(), entry -> module, owner, true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     * The module if it has been constructed, otherwise null
+     */
+    public HudModule getModule() {
+        return module;
+    }
+
+    /**
+     * Whether the module exists and is enabled (a module that was never
+     * constructed can't be enabled)
+     */
+    public boolean isEnabled() {
+        HudModule module = this.module;
+        return module != null && module.isEnabled();
+    }
+
+    HudModule create() {
+        return factory.apply(this);
+    }
+
+    /**
+     * Whether a constructed module describes itself the way it was declared
+     */
+    boolean matches(HudModule module) {
+        return module.getName().equals(name)
+            && module.getDescription().equals(description)
+            && module.getCategory() == category;
+    }
+}
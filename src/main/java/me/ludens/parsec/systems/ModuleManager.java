@@ -1,24 +1,71 @@
 package me.ludens.parsec.systems;
 
 import me.ludens.parsec.Parsec;
-import me.ludens.parsec.systems.modules.render.CordsModule;
-import me.ludens.parsec.systems.modules.render.FpsModule;
+import me.ludens.parsec.profiler.ModuleProfiler;
+import me.ludens.parsec.state.ClientStateSampler;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.entrypoint.EntrypointContainer;
+import net.minecraft.client.MinecraftClient;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Manages all modules in the mod.
  * Similar to Meteor Client's ModuleManager.
- * 
+ *
  * Learning Note: This is a Singleton pattern - only one instance exists.
  * We use 'public static final' to make it globally accessible.
+ *
+ * Modules come from the "parsec:modules" entrypoint (see ModuleProvider)
+ * and are usually registered as factories. A module is only constructed
+ * the first time something asks for it, so lookups come in three kinds:
+ * getModuleByName()/getModules() construct what they return,
+ * getLoadedModule()/getLoadedModules() only see modules that exist, and
+ * getEntries() lists every registered module without constructing any.
+ *
+ * Mods can also register() and unregister() modules at runtime, e.g.
+ * modules that only make sense on one server. That may happen on any
+ * thread: the registry changes right away, but enabling, disabling and
+ * the listeners always run on the client thread, because the event bus
+ * and the modules themselves are only safe to touch there.
  */
 public class ModuleManager {
     public static final ModuleManager INSTANCE = new ModuleManager();
-    
-    private final List<HudModule> modules = new ArrayList<>();
+
+    /**
+     * Fabric entrypoint that mods contribute modules through
+     */
+    public static final String ENTRYPOINT = "parsec:modules";
+
+    /**
+     * The current registry, replaced as a whole on every change.
+     *
+     * Learning Note: Readers (render loop, input handler, GUI) do one
+     * volatile read and use what they got; they never lock. Writers hold
+     * the manager's lock while building the next snapshot, so two
+     * registrations can't overwrite each other's changes.
+     */
+    private volatile ModuleSnapshot snapshot = ModuleSnapshot.EMPTY;
+
+    // Called with each module constructed after registration
+    private final List<Consumer<HudModule>> loadListeners = new CopyOnWriteArrayList<>();
+    // Called with each constructed module that is being unregistered
+    private final List<Consumer<HudModule>> unregisterListeners = new CopyOnWriteArrayList<>();
+    // Called after modules are registered or unregistered
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    // Client ticks seen so far, used to schedule module updates
+    private long tickCount = 0;
+
     private boolean initialized = false;
 
     /**
@@ -28,8 +75,12 @@ public class ModuleManager {
     private ModuleManager() {}
 
     /**
-     * Initialize and register all modules.
+     * Discover and register all modules.
      * Called once during mod startup.
+     *
+     * Learning Note: Providers only declare names and factories, which is
+     * cheap, so they run one after another in entrypoint order. A provider
+     * that throws loses its own modules and nobody else's.
      */
     public static void init() {
         if (INSTANCE.initialized) {
@@ -37,82 +88,459 @@ public class ModuleManager {
             return;
         }
 
-        Parsec.LOGGER.info("Registering modules...");
-        
-        // Register all modules here
-        // Render modules (HUD elements)
-        INSTANCE.register(new FpsModule());
-        INSTANCE.register(new CordsModule());
-        
-        // Add more modules here as you create them:
-        // INSTANCE.register(new SpeedModule());
-        // INSTANCE.register(new ArmorHudModule());
-        // etc.
+        Parsec.LOGGER.info("Discovering modules...");
+
+        List<EntrypointContainer<ModuleProvider>> providers =
+            FabricLoader.getInstance().getEntrypointContainers(ENTRYPOINT, ModuleProvider.class);
+
+        List<ModuleEntry> discovered = new ArrayList<>();
+        for (EntrypointContainer<ModuleProvider> container : providers) {
+            String modId = container.getProvider().getMetadata().getId();
+            try {
+                ModuleRegistry registry = new ModuleRegistry(modId);
+                container.getEntrypoint().registerModules(registry);
+                discovered.addAll(registry.getEntries());
+            } catch (RuntimeException e) {
+                Parsec.LOGGER.error("Module provider from {} failed", modId, e);
+            }
+        }
+        INSTANCE.registerAll(discovered);
+
+        // Drive module updates from the client tick, not the frame rate
+        ClientTickEvents.END_CLIENT_TICK.register(INSTANCE::tick);
 
         INSTANCE.initialized = true;
-        Parsec.LOGGER.info("Registered {} modules", INSTANCE.modules.size());
+        Parsec.LOGGER.info("Registered {} modules from {} providers", INSTANCE.snapshot.entries.length, providers.size());
     }
 
     /**
-     * Register a single module
-     * 
-     * Learning Note: Using 'synchronized' prevents issues if multiple
-     * threads try to register modules at the same time.
+     * Run update() on every enabled module whose interval has elapsed.
+     *
+     * Learning Note: Rendering happens hundreds of times per second, but
+     * this runs 20 times per second at most. Modules sample game state
+     * here, so render cost stays flat as FPS goes up.
      */
-    private synchronized void register(HudModule module) {
-        // Check if module with same name already exists
-        if (getModuleByName(module.getName()) != null) {
-            Parsec.LOGGER.warn("Module '{}' is already registered!", module.getName());
-            return;
+    private void tick(MinecraftClient client) {
+        tickCount++;
+        long now = System.nanoTime();
+
+        // One read of the client for every module this tick
+        ClientStateSampler.sample(client, tickCount, now);
+
+        List<HudModule> enabled = snapshot.enabled;
+        if (ModuleProfiler.isEnabled()) {
+            for (int i = 0, n = enabled.size(); i < n; i++) {
+                HudModule module = enabled.get(i);
+                long start = System.nanoTime();
+                if (module.tick(client, tickCount, now)) {
+                    ModuleProfiler.recordUpdate(module, System.nanoTime() - start);
+                }
+            }
+        } else {
+            for (int i = 0, n = enabled.size(); i < n; i++) {
+                enabled.get(i).tick(client, tickCount, now);
+            }
+        }
+    }
+
+    /**
+     * Register an already constructed module at runtime, e.g. when an
+     * addon's modules for the current server become available. Called
+     * off the client thread, the module is installed (and its saved
+     * settings applied) once the client thread gets to it.
+     *
+     * @return false if a module with the same name is already registered
+     */
+    public boolean register(HudModule module) {
+        return registerAll(List.of(new ModuleEntry(module, null))) == 1;
+    }
+
+    /**
+     * Register every module a provider declares, in one step. Modules
+     * declared as factories are constructed on first use, like the ones
+     * found at startup.
+     *
+     * @return how many were registered (name clashes are skipped)
+     */
+    public int register(String modId, ModuleProvider provider) {
+        ModuleRegistry registry = new ModuleRegistry(modId);
+        provider.registerModules(registry);
+        return registerAll(registry.getEntries());
+    }
+
+    /**
+     * Add modules and publish them in a single snapshot
+     *
+     * Learning Note: Indexes freed by unregistered modules are reused, so
+     * an addon registering and unregistering its modules on every server
+     * join doesn't grow the registry (or the enabled bitset) forever.
+     */
+    private synchronized int registerAll(List<ModuleEntry> added) {
+        ModuleSnapshot current = snapshot;
+        List<ModuleEntry> entries = new ArrayList<>(Arrays.asList(current.entries));
+        Map<String, ModuleEntry> names = new HashMap<>(current.byName);
+
+        BitSet used = new BitSet(current.slots.length);
+        for (ModuleEntry entry : current.entries) {
+            used.set(entry.index);
+        }
+
+        List<ModuleEntry> registered = new ArrayList<>(added.size());
+        for (ModuleEntry entry : added) {
+            // Check if module with same name already exists
+            if (names.putIfAbsent(nameKey(entry.name), entry) != null) {
+                Parsec.LOGGER.warn("Module '{}' is already registered!", entry.name);
+                continue;
+            }
+
+            entry.index = used.nextClearBit(0);
+            used.set(entry.index);
+            entries.add(entry);
+            registered.add(entry);
+        }
+        if (registered.isEmpty()) return 0;
+
+        snapshot = ModuleSnapshot.create(current.revision + 1, entries, current.enabledBits);
+
+        onClientThread(() -> {
+            for (ModuleEntry entry : registered) {
+                Parsec.LOGGER.debug("Registered module: {}", entry.name);
+                if (entry.eager) load(entry);
+            }
+            for (Runnable listener : changeListeners) {
+                listener.run();
+            }
+        });
+        return registered.size();
+    }
+
+    /**
+     * Unregister a module by name (case-insensitive). It stops drawing right
+     * away and is disabled on the client thread; its slot, keybind and
+     * search entry go away with it.
+     *
+     * @return false if no such module is registered
+     */
+    public boolean unregister(String name) {
+        if (name == null) return false;
+        synchronized (this) {
+            ModuleEntry entry = snapshot.byName.get(nameKey(name));
+            if (entry == null) return false;
+            remove(List.of(entry));
+            return true;
+        }
+    }
+
+    /**
+     * Unregister this module instance, if it's the one registered under its name
+     */
+    public synchronized boolean unregister(HudModule module) {
+        ModuleEntry entry = snapshot.byName.get(nameKey(module.getName()));
+        if (entry == null || entry.module != module) return false;
+        remove(List.of(entry));
+        return true;
+    }
+
+    /**
+     * Unregister every module a mod registered through a ModuleProvider
+     *
+     * @return how many were unregistered
+     */
+    public synchronized int unregisterAll(String modId) {
+        List<ModuleEntry> owned = new ArrayList<>();
+        for (ModuleEntry entry : snapshot.entries) {
+            if (entry.owner != null && entry.owner.equals(modId)) owned.add(entry);
+        }
+        if (!owned.isEmpty()) remove(owned);
+        return owned.size();
+    }
+
+    /**
+     * Take modules out of the registry now, and disable them on the client thread
+     *
+     * Learning Note: Clearing their enabled bits in the new snapshot stops
+     * the render loop and ticks from using them straight away. The rest
+     * (onDisable(), leaving the event bus, listeners) waits for the client
+     * thread, in the same order as any registration that follows.
+     */
+    private void remove(List<ModuleEntry> removed) {
+        List<HudModule> modules = new ArrayList<>(removed.size());
+        for (ModuleEntry entry : removed) {
+            if (entry.module != null) modules.add(entry.module);
+        }
+
+        ModuleSnapshot current = snapshot;
+        BitSet enabledBits = (BitSet) current.enabledBits.clone();
+        for (ModuleEntry entry : removed) {
+            enabledBits.clear(entry.index);
+            entry.index = -1; // A load() waiting on the lock now gives up
+        }
+
+        List<ModuleEntry> entries = new ArrayList<>(current.entries.length);
+        for (ModuleEntry entry : current.entries) {
+            if (entry.index >= 0) entries.add(entry);
+        }
+        snapshot = ModuleSnapshot.create(current.revision + 1, entries, enabledBits);
+
+        onClientThread(() -> {
+            // Listeners see each module as the player left it, so e.g. the
+            // config keeps it enabled for next time
+            for (HudModule module : modules) {
+                for (Consumer<HudModule> listener : unregisterListeners) {
+                    listener.accept(module);
+                }
+            }
+            for (HudModule module : modules) {
+                module.setEnabled(false);
+                // The index may go to another module; it shouldn't inherit these timings
+                ModuleProfiler.clearSamples(module);
+                module.setIndex(-1);
+            }
+            for (ModuleEntry entry : removed) {
+                Parsec.LOGGER.debug("Unregistered module: {}", entry.name);
+            }
+            for (Runnable listener : changeListeners) {
+                listener.run();
+            }
+        });
+    }
+
+    /**
+     * Construct a registered module if it doesn't exist yet, e.g. when
+     * the player opens its settings
+     *
+     * @return the module, or null if it failed to construct or was unregistered
+     */
+    public HudModule load(ModuleEntry entry) {
+        HudModule module = entry.module;
+        if (module != null || entry.failed) return module;
+
+        synchronized (this) {
+            if (entry.module != null || entry.failed || entry.index < 0) return entry.module;
+
+            try {
+                module = entry.create();
+            } catch (RuntimeException e) {
+                Parsec.LOGGER.error("Failed to construct module {}", entry.name, e);
+                module = null;
+            }
+            // The GUI and search show the declaration; the module has to agree with it
+            if (module != null && !entry.matches(module)) {
+                Parsec.LOGGER.error("Module declared as '{}' ({}, {}) constructed as '{}' ({}, {})",
+                    entry.name, entry.category, entry.description,
+                    module.getName(), module.getCategory(), module.getDescription());
+                module = null;
+            }
+
+            if (module == null) {
+                entry.failed = true;
+                snapshot = snapshot.withLoaded();
+                return null;
+            }
+
+            install(entry, module);
+            Parsec.LOGGER.debug("Constructed module: {}", entry.name);
+            return module;
+        }
+    }
+
+    private void install(ModuleEntry entry, HudModule module) {
+        // Freeze the module's settings into its descriptor table
+        module.getSettings();
+        module.setIndex(entry.index);
+        entry.module = module;
+        snapshot = snapshot.withLoaded();
+
+        onClientThread(() -> {
+            for (Consumer<HudModule> listener : loadListeners) {
+                listener.accept(module);
+            }
+        });
+
+        if (module.isEnabled()) {
+            onEnabledChanged(module);
         }
-        
-        modules.add(module);
-        Parsec.LOGGER.debug("Registered module: {}", module.getName());
     }
 
     /**
-     * Get all registered modules
+     * Construct every module that doesn't exist yet
+     */
+    private void loadAll() {
+        ModuleSnapshot current = snapshot;
+        if (current.unloadedCount == 0) return;
+        for (ModuleEntry entry : current.entries) {
+            load(entry);
+        }
+    }
+
+    /**
+     * Called by HudModule whenever its enabled state flips.
+     * Publishes a snapshot with the module added to or removed from the enabled view.
+     */
+    synchronized void onEnabledChanged(HudModule module) {
+        ModuleSnapshot current = snapshot;
+        if (!current.isInstalled(module)) return;
+
+        int index = module.getIndex();
+        if (current.enabledBits.get(index) == module.isEnabled()) return;
+
+        BitSet enabledBits = (BitSet) current.enabledBits.clone();
+        enabledBits.set(index, module.isEnabled());
+        snapshot = current.withEnabled(enabledBits);
+    }
+
+    /**
+     * Run an action for each module constructed from now on, e.g. to
+     * apply its saved settings or bind its keybind. Runs on the client thread.
+     */
+    public void addLoadListener(Consumer<HudModule> listener) {
+        loadListeners.add(listener);
+    }
+
+    /**
+     * Run an action for each constructed module that gets unregistered,
+     * while it's being disabled. Runs on the client thread.
+     */
+    public void addUnregisterListener(Consumer<HudModule> listener) {
+        unregisterListeners.add(listener);
+    }
+
+    /**
+     * Run an action after modules are registered or unregistered at runtime.
+     * Runs on the client thread.
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Get all registered modules, constructing any that don't exist yet
+     *
+     * Learning Note: The returned list is a read-only view of the current
+     * snapshot, so it's safe to call every frame without allocating.
+     * Code that only needs modules already in use should call
+     * getLoadedModules() instead.
      */
     public List<HudModule> getModules() {
-        return new ArrayList<>(modules); // Return a copy to prevent modification
+        loadAll();
+        return snapshot.loaded;
+    }
+
+    /**
+     * Get every registered module, constructed or not, in registration order
+     *
+     * Learning Note: This is what lists of modules should show. Names,
+     * descriptions and categories are known without constructing anything;
+     * call load() on an entry once the module itself is needed.
+     */
+    public List<ModuleEntry> getEntries() {
+        return snapshot.entryList;
     }
 
     /**
-     * Get modules by category
-     * 
-     * Learning Note: This uses Java Streams, which are a modern way to
-     * filter and process collections of data.
+     * Get registered modules in a category, constructed or not
+     */
+    public List<ModuleEntry> getEntriesByCategory(Category category) {
+        return snapshot.entriesInCategory(category);
+    }
+
+    /**
+     * Get the modules constructed so far, in registration order
+     */
+    public List<HudModule> getLoadedModules() {
+        return snapshot.loaded;
+    }
+
+    /**
+     * Get all currently enabled modules, in registration order.
+     * Used by the HUD render loop so it only walks modules that draw.
+     */
+    public List<HudModule> getEnabledModules() {
+        return snapshot.enabled;
+    }
+
+    /**
+     * Get modules by category, constructing them if needed
+     *
+     * Learning Note: Each snapshot keeps a bucket per category, so this
+     * returns a cached read-only view instead of filtering every module
+     * on each call.
      */
     public List<HudModule> getModulesByCategory(Category category) {
-        return modules.stream()
-                .filter(m -> m.getCategory() == category)
-                .collect(Collectors.toList());
+        ModuleSnapshot current = snapshot;
+        if (current.unloadedCount > 0) {
+            for (ModuleEntry entry : current.entriesInCategory(category)) {
+                load(entry);
+            }
+            current = snapshot;
+        }
+        return current.loadedInCategory(category);
     }
 
     /**
-     * Find a module by its name (case-insensitive)
+     * Find a module by its name (case-insensitive), constructing it if needed
      */
     public HudModule getModuleByName(String name) {
-        return modules.stream()
-                .filter(m -> m.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+        if (name == null) return null;
+        ModuleEntry entry = snapshot.byName.get(nameKey(name));
+        return entry == null ? null : load(entry);
+    }
+
+    /**
+     * Find a module by its name (case-insensitive) if it has been constructed
+     */
+    public HudModule getLoadedModule(String name) {
+        if (name == null) return null;
+        ModuleEntry entry = snapshot.byName.get(nameKey(name));
+        return entry == null ? null : entry.module;
+    }
+
+    /**
+     * Whether a module with this name is registered, constructed or not
+     */
+    public boolean isRegistered(String name) {
+        return name != null && snapshot.byName.containsKey(nameKey(name));
+    }
+
+    /**
+     * Changes whenever modules are registered or unregistered, so views
+     * built from the registry (like the ClickGui) know to refresh
+     */
+    public long getRevision() {
+        return snapshot.revision;
+    }
+
+    /**
+     * Start a search over module names and descriptions
+     *
+     * Learning Note: The index behind it is built once per set of
+     * registered modules, so typing a query never scans every module.
+     */
+    public ModuleSearch newSearch() {
+        return new ModuleSearch(this);
+    }
+
+    ModuleSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
      * Get a module by its class type
-     * 
+     *
      * Learning Note: This uses Java Generics (<T>). It allows us to
      * write one method that works with any module type.
-     * 
+     *
      * Example usage: FpsModule fps = ModuleManager.INSTANCE.get(FpsModule.class);
      */
     @SuppressWarnings("unchecked")
     public <T extends HudModule> T get(Class<T> moduleClass) {
-        return (T) modules.stream()
-                .filter(m -> m.getClass() == moduleClass)
-                .findFirst()
-                .orElse(null);
+        HudModule module = snapshot.byClass.get(moduleClass);
+        if (module == null && snapshot.unloadedCount > 0) {
+            // The class is only known once constructed
+            loadAll();
+            module = snapshot.byClass.get(moduleClass);
+        }
+        return (T) module;
     }
 
     /**
@@ -130,19 +558,39 @@ public class ModuleManager {
     }
 
     /**
-     * Disable all modules
+     * Disable all modules (modules not constructed yet are already disabled)
      */
     public void disableAll() {
-        modules.forEach(module -> module.setEnabled(false));
+        for (HudModule module : snapshot.loaded) {
+            module.setEnabled(false);
+        }
     }
 
     /**
      * Get count of enabled modules
      */
     public int getEnabledCount() {
-        return (int) modules.stream()
-                .filter(HudModule::isEnabled)
-                .count();
+        return snapshot.enabled.size();
+    }
+
+    /**
+     * Run a task on the client thread: now if we're on it (or there is no
+     * client, as in benchmarks), otherwise as soon as the client gets to it
+     */
+    private static void onClientThread(Runnable task) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client == null || client.isOnThread()) {
+            task.run();
+        } else {
+            client.execute(task);
+        }
+    }
+
+    /**
+     * Names are indexed case-folded so lookups match equalsIgnoreCase
+     */
+    static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -0,0 +1,21 @@
+package me.ludens.parsec.systems;
+
+/**
+ * Contributes modules to Parsec.
+ *
+ * Learning Note: Mods (including Parsec itself) list an implementation
+ * under the "parsec:modules" entrypoint in their fabric.mod.json:
+ * <pre>
+ * "entrypoints": {
+ *   "parsec:modules": ["com.example.addon.ExampleModules"]
+ * }
+ * </pre>
+ * Providers are called one after another, in entrypoint order, while
+ * the client starts. Only declare modules here - constructors run
+ * later, when a module is first used - and don't touch the game or
+ * other mods.
+ */
+@FunctionalInterface
+public interface ModuleProvider {
+    void registerModules(ModuleRegistry registry);
+}
@@ -0,0 +1,74 @@
+package me.ludens.parsec.systems;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Collects the modules one {@link ModuleProvider} declares.
+ *
+ * Learning Note: Prefer the factory form of add(). A module declared
+ * that way is only constructed once something needs it - usually when
+ * it's enabled, or when its settings are opened in the ClickGui - so
+ * modules a player never uses cost a name and a lambda instead of a
+ * full object.
+ *
+ * The factory is handed the module's ModuleEntry, which it passes on to
+ * HudModule's constructor. That way the name, description and category
+ * are only written once, here:
+ * <pre>
+ * registry.add("FPS", "Displays current FPS", Category.RENDER, FpsModule::new);
+ *
+ * public FpsModule(ModuleEntry entry) {
+ *     super(entry, 10, 10);
+ * }
+ * </pre>
+ */
+public final class ModuleRegistry {
+    private final String modId;
+    private final List<ModuleEntry> entries = new ArrayList<>();
+
+    ModuleRegistry(String modId) {
+        this.modId = modId;
+    }
+
+    /**
+     * Declare a module that is constructed on first use
+     */
+    public void add(String name, String description, Category category,
+                    Function<ModuleEntry, ? extends HudModule> factory) {
+        entries.add(new ModuleEntry(name, description, category, factory, modId, false));
+    }
+
+    /**
+     * Declare a module whose constructor binds a keybind by default.
+     *
+     * Learning Note: A key can only toggle a module that exists, and
+     * nothing else would construct a module the player hasn't touched yet.
+     * Modules declared this way are constructed at startup, like modules
+     * with a keybind in the saved config.
+     */
+    public void addBound(String name, String description, Category category,
+                         Function<ModuleEntry, ? extends HudModule> factory) {
+        entries.add(new ModuleEntry(name, description, category, factory, modId, true));
+    }
+
+    /**
+     * Register an already constructed module
+     */
+    public void add(HudModule module) {
+        entries.add(new ModuleEntry(module, modId));
+    }
+
+    /**
+     * Id of the mod this registry collects modules for
+     */
+    public String getModId() {
+        return modId;
+    }
+
+    List<ModuleEntry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+}
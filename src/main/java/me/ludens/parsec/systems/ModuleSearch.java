@@ -0,0 +1,135 @@
+package me.ludens.parsec.systems;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An ongoing search, e.g. the ClickGui search box. Get one from
+ * {@link ModuleManager#newSearch()} and call {@link #update} with the
+ * query whenever it changes.
+ *
+ * Learning Note: Typing usually adds a character to the end of the query.
+ * Every module matching "fpsc" also matches "fps", so instead of asking
+ * the index again we keep the previous result and drop the modules that
+ * no longer match. Results for the shorter queries stay on a small stack,
+ * so backspace just goes back to one of them.
+ *
+ * If nothing contains the query, the closest names are shown instead
+ * (see ModuleSearchIndex.similar()). A step keeps its exact matches,
+ * even when they're empty, so narrowing stays correct after that.
+ */
+public class ModuleSearch {
+    // Cached steps kept at most; past this the shortest queries are dropped
+    private static final int MAX_CACHED = 32;
+
+    private final ModuleManager manager;
+    private final List<Step> steps = new ArrayList<>();
+
+    // Registry the cached steps were computed against
+    private ModuleSnapshot snapshot;
+
+    ModuleSearch(ModuleManager manager) {
+        this.manager = manager;
+        this.snapshot = manager.getSnapshot();
+    }
+
+    /**
+     * Modules matching every word of the query, modules with a name
+     * word starting with the first term first; if none match, modules
+     * with similar names. An empty query matches everything. Returns
+     * the same list again while the query is unchanged. Nothing is
+     * constructed; the results are registry entries.
+     */
+    public List<ModuleEntry> update(String query) {
+        String folded = ModuleSearchIndex.fold(query).stripLeading();
+        if (folded.isBlank()) return manager.getEntries();
+
+        // Results are stale once modules are registered or unregistered
+        ModuleSnapshot current = manager.getSnapshot();
+        if (current.revision != snapshot.revision) {
+            steps.clear();
+        }
+        snapshot = current;
+
+        // Drop cached steps that aren't a prefix of the new query
+        while (!steps.isEmpty() && !folded.startsWith(steps.get(steps.size() - 1).query)) {
+            steps.remove(steps.size() - 1);
+        }
+
+        Step previous = steps.isEmpty() ? null : steps.get(steps.size() - 1);
+        if (previous != null && previous.query.equals(folded)) {
+            return previous.result;
+        }
+
+        String[] terms = folded.trim().split("\\s+");
+        ModuleSearchIndex index = snapshot.searchIndex();
+        BitSet matches;
+        if (previous != null) {
+            // Narrow: only modules that matched the shorter query can match this one
+            matches = (BitSet) previous.matches.clone();
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                for (String term : terms) {
+                    if (!index.matches(i, term)) {
+                        matches.clear(i);
+                        break;
+                    }
+                }
+            }
+        } else {
+            matches = index.match(terms[0]);
+            for (int t = 1; t < terms.length && !matches.isEmpty(); t++) {
+                matches.and(index.match(terms[t]));
+            }
+        }
+
+        List<ModuleEntry> result = matches.isEmpty()
+            ? similar(index.similar(terms))
+            : rank(matches, index.namePrefix(terms[0]));
+        Step step = new Step(folded, matches, result);
+        if (steps.size() == MAX_CACHED) {
+            steps.remove(0);
+        }
+        steps.add(step);
+        return step.result;
+    }
+
+    private List<ModuleEntry> rank(BitSet matches, BitSet namePrefix) {
+        List<ModuleEntry> result = new ArrayList<>(matches.cardinality());
+
+        // Name word prefix matches first, then everything else, each in index order
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            if (namePrefix.get(i)) result.add(snapshot.slots[i]);
+        }
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            if (!namePrefix.get(i)) result.add(snapshot.slots[i]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private List<ModuleEntry> similar(int[] ranked) {
+        if (ranked.length == 0) return List.of();
+
+        List<ModuleEntry> result = new ArrayList<>(ranked.length);
+        for (int index : ranked) {
+            result.add(snapshot.slots[index]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * One cached query with its matches (by module index) and ranked result
+     */
+    private static final class Step {
+        private final String query;
+        private final BitSet matches;
+        private final List<ModuleEntry> result;
+
+        private Step(String query, BitSet matches, List<ModuleEntry> result) {
+            this.query = query;
+            this.matches = matches;
+            this.result = result;
+        }
+    }
+}
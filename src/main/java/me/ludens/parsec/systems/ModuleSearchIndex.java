@@ -0,0 +1,218 @@
+package me.ludens.parsec.systems;
+
+import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search index over module names and descriptions, built for one
+ * ModuleSnapshot. Modules are identified by their index, so result sets
+ * are BitSets.
+ *
+ * Learning Note: Two structures answer two different questions:
+ * - A prefix trie over the words of each name ("Fps", "Cords") finds
+ *   modules with a word starting with what was typed. These rank first.
+ * - Posting lists for every 1-, 2- and 3-character sequence find text
+ *   that contains the term anywhere ("ord" finds "Coords"). For longer
+ *   terms we intersect the lists of its trigrams and then check the few
+ *   candidates left.
+ *
+ * A term matches a module if its name or description contains it
+ * (ignoring case). That rule only gets stricter as more is typed, which
+ * is what lets ModuleSearch narrow the previous result instead of
+ * searching again.
+ *
+ * When nothing matches (a typo like "fsp", or "cords" for "Coordinates")
+ * similar() ranks names by how many of the query's 1-, 2- and
+ * 3-character sequences they share, using posting lists kept for names
+ * only. Descriptions contain too many letters to say much here.
+ */
+final class ModuleSearchIndex {
+    private static final BitSet EMPTY = new BitSet();
+
+    private final TrieNode nameTrie = new TrieNode();
+    private final Long2ObjectOpenHashMap<BitSet> grams = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<BitSet> nameGrams = new Long2ObjectOpenHashMap<>();
+
+    // Case-folded text per module index, used to verify candidates
+    private String[] names = new String[0];
+    private String[] descriptions = new String[0];
+
+    void add(int index, String moduleName, String moduleDescription) {
+        if (index >= names.length) {
+            int capacity = Math.max(index + 1, names.length * 2);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+
+        String name = fold(moduleName);
+        String description = fold(moduleDescription);
+        names[index] = name;
+        descriptions[index] = description;
+
+        for (String word : words(moduleName)) {
+            nameTrie.insert(word, index);
+        }
+        addGrams(grams, name, index);
+        addGrams(grams, description, index);
+        addGrams(nameGrams, name, index);
+    }
+
+    /**
+     * Modules whose name or description contains the term
+     */
+    BitSet match(String term) {
+        if (term.length() <= 3) {
+            BitSet postings = grams.get(gramKey(term, 0, term.length()));
+            return postings == null ? new BitSet() : (BitSet) postings.clone();
+        }
+
+        // Every trigram of the term must appear; intersecting their lists
+        // leaves only a handful of modules to check for the whole term
+        BitSet candidates = null;
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            BitSet postings = grams.get(gramKey(term, i, 3));
+            if (postings == null) return new BitSet();
+
+            if (candidates == null) candidates = (BitSet) postings.clone();
+            else candidates.and(postings);
+            if (candidates.isEmpty()) return candidates;
+        }
+
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (!matches(i, term)) candidates.clear(i);
+        }
+        return candidates;
+    }
+
+    /**
+     * Check a single module against a term, without the index
+     */
+    boolean matches(int index, String term) {
+        return names[index].contains(term) || descriptions[index].contains(term);
+    }
+
+    /**
+     * Modules whose name shares at least half of the terms' character
+     * sequences, most shared first (ties in index order)
+     */
+    int[] similar(String[] terms) {
+        LongOpenHashSet queryGrams = new LongOpenHashSet();
+        for (String term : terms) {
+            for (int start = 0; start < term.length(); start++) {
+                for (int length = 1; length <= 3 && start + length <= term.length(); length++) {
+                    queryGrams.add(gramKey(term, start, length));
+                }
+            }
+        }
+
+        int[] scores = new int[names.length];
+        for (LongIterator it = queryGrams.iterator(); it.hasNext(); ) {
+            BitSet postings = nameGrams.get(it.nextLong());
+            if (postings == null) continue;
+            for (int i = postings.nextSetBit(0); i >= 0; i = postings.nextSetBit(i + 1)) {
+                scores[i]++;
+            }
+        }
+
+        // Sort by score, then index, packed into one long per module
+        int threshold = Math.max(1, (queryGrams.size() + 1) / 2);
+        long[] ranked = new long[names.length];
+        int count = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] >= threshold) {
+                ranked[count++] = ((long) -scores[i] << 32) | i;
+            }
+        }
+        Arrays.sort(ranked, 0, count);
+
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = (int) ranked[i];
+        }
+        return result;
+    }
+
+    /**
+     * Modules with a word in their name starting with the prefix. Don't modify the result.
+     */
+    BitSet namePrefix(String prefix) {
+        TrieNode node = nameTrie;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children == null ? null : node.children.get(prefix.charAt(i));
+        }
+        return node == null ? EMPTY : node.modules;
+    }
+
+    static String fold(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static void addGrams(Long2ObjectOpenHashMap<BitSet> grams, String text, int index) {
+        for (int start = 0; start < text.length(); start++) {
+            for (int length = 1; length <= 3 && start + length <= text.length(); length++) {
+                grams.computeIfAbsent(gramKey(text, start, length), key -> new BitSet()).set(index);
+            }
+        }
+    }
+
+    /**
+     * Pack up to three chars and the length into one long
+     */
+    private static long gramKey(String text, int start, int length) {
+        long key = length;
+        for (int i = 0; i < length; i++) {
+            key = (key << 16) | text.charAt(start + i);
+        }
+        return key;
+    }
+
+    /**
+     * Split a name into case-folded words, on spaces and camelCase
+     * ("ArmorHud" -> "armorhud", "armor", "hud")
+     */
+    private static String[] words(String name) {
+        List<String> words = new ArrayList<>();
+        words.add(fold(name));
+
+        int start = 0;
+        for (int i = 1; i <= name.length(); i++) {
+            boolean boundary = i == name.length()
+                || !Character.isLetterOrDigit(name.charAt(i))
+                || (Character.isUpperCase(name.charAt(i)) && Character.isLowerCase(name.charAt(i - 1)));
+            if (!boundary) continue;
+
+            if (i > start && Character.isLetterOrDigit(name.charAt(start))) {
+                words.add(fold(name.substring(start, i)));
+            }
+            start = i < name.length() && !Character.isLetterOrDigit(name.charAt(i)) ? i + 1 : i;
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static final class TrieNode {
+        private final BitSet modules = new BitSet(); // Every module with a word through this node
+        private Char2ObjectOpenHashMap<TrieNode> children;
+
+        private void insert(String word, int index) {
+            TrieNode node = this;
+            for (int i = 0; i < word.length(); i++) {
+                if (node.children == null) node.children = new Char2ObjectOpenHashMap<>(4);
+                TrieNode child = node.children.get(word.charAt(i));
+                if (child == null) {
+                    child = new TrieNode();
+                    node.children.put(word.charAt(i), child);
+                }
+                node = child;
+                node.modules.set(index);
+            }
+        }
+    }
+}
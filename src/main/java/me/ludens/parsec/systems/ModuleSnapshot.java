@@ -0,0 +1,194 @@
+package me.ludens.parsec.systems;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One state of ModuleManager's registry. Nothing in it changes once
+ * it's published.
+ *
+ * Learning Note: Registering, unregistering, constructing or toggling a
+ * module builds a new snapshot and swaps it in with a single volatile
+ * write. The render loop and input handler read the field once and use
+ * that snapshot, so they never wait on a lock and never see a registry
+ * that is half updated.
+ */
+final class ModuleSnapshot {
+    private static final ModuleEntry[] NO_ENTRIES = new ModuleEntry[0];
+
+    static final ModuleSnapshot EMPTY = create(0, List.of(), new BitSet());
+
+    // Bumped whenever modules are registered or unregistered
+    final long revision;
+
+    // Registered modules in registration order, and by index (free slots are null)
+    final ModuleEntry[] entries;
+    final ModuleEntry[] slots;
+    final Map<String, ModuleEntry> byName;
+    final Map<Category, List<ModuleEntry>> byCategory;
+
+    // Read-only view of entries, handed out to the GUI
+    final List<ModuleEntry> entryList;
+
+    // Constructed modules, in registration order
+    final List<HudModule> loaded;
+    final Map<Class<? extends HudModule>, HudModule> byClass;
+    final Map<Category, List<HudModule>> loadedByCategory;
+    final int unloadedCount;
+
+    // Enabled modules by index. The BitSet is never modified after publishing.
+    final BitSet enabledBits;
+    final List<HudModule> enabled;
+
+    // Built on the first search, then shared with snapshots of the same modules
+    private volatile ModuleSearchIndex searchIndex;
+
+    private ModuleSnapshot(long revision, ModuleEntry[] entries, ModuleEntry[] slots,
+                           Map<String, ModuleEntry> byName, Map<Category, List<ModuleEntry>> byCategory,
+                           List<ModuleEntry> entryList, BitSet enabledBits, ModuleSearchIndex searchIndex) {
+        this.revision = revision;
+        this.entries = entries;
+        this.slots = slots;
+        this.byName = byName;
+        this.byCategory = byCategory;
+        this.entryList = entryList;
+        this.searchIndex = searchIndex;
+
+        List<HudModule> loaded = new ArrayList<>(entries.length);
+        Map<Class<? extends HudModule>, HudModule> byClass = new HashMap<>();
+        Map<Category, List<HudModule>> loadedByCategory = new EnumMap<>(Category.class);
+        int unloadedCount = 0;
+        for (ModuleEntry entry : entries) {
+            HudModule module = entry.module;
+            if (module == null) {
+                if (!entry.failed) unloadedCount++;
+                continue;
+            }
+            loaded.add(module);
+            byClass.putIfAbsent(module.getClass(), module);
+            loadedByCategory.computeIfAbsent(entry.category, category -> new ArrayList<>()).add(module);
+        }
+        for (Map.Entry<Category, List<HudModule>> bucket : loadedByCategory.entrySet()) {
+            bucket.setValue(Collections.unmodifiableList(bucket.getValue()));
+        }
+
+        this.loaded = Collections.unmodifiableList(loaded);
+        this.byClass = byClass;
+        this.loadedByCategory = loadedByCategory;
+        this.unloadedCount = unloadedCount;
+        this.enabledBits = enabledBits;
+        this.enabled = enabledView(entries, enabledBits);
+    }
+
+    /**
+     * Same modules with different enabled bits; everything else is shared
+     */
+    private ModuleSnapshot(ModuleSnapshot base, BitSet enabledBits) {
+        this.revision = base.revision;
+        this.entries = base.entries;
+        this.slots = base.slots;
+        this.byName = base.byName;
+        this.byCategory = base.byCategory;
+        this.entryList = base.entryList;
+        this.loaded = base.loaded;
+        this.byClass = base.byClass;
+        this.loadedByCategory = base.loadedByCategory;
+        this.unloadedCount = base.unloadedCount;
+        this.searchIndex = base.searchIndex;
+        this.enabledBits = enabledBits;
+        this.enabled = enabledView(entries, enabledBits);
+    }
+
+    /**
+     * Build a snapshot of the given entries, which already have their index
+     */
+    static ModuleSnapshot create(long revision, List<ModuleEntry> entries, BitSet enabledBits) {
+        int slotCount = 0;
+        for (ModuleEntry entry : entries) {
+            slotCount = Math.max(slotCount, entry.index + 1);
+        }
+
+        ModuleEntry[] slots = new ModuleEntry[slotCount];
+        Map<String, ModuleEntry> byName = new HashMap<>();
+        Map<Category, List<ModuleEntry>> buckets = new EnumMap<>(Category.class);
+        for (ModuleEntry entry : entries) {
+            slots[entry.index] = entry;
+            byName.put(ModuleManager.nameKey(entry.name), entry);
+            buckets.computeIfAbsent(entry.category, category -> new ArrayList<>()).add(entry);
+        }
+
+        for (Map.Entry<Category, List<ModuleEntry>> bucket : buckets.entrySet()) {
+            bucket.setValue(Collections.unmodifiableList(bucket.getValue()));
+        }
+
+        ModuleEntry[] array = entries.toArray(NO_ENTRIES);
+        return new ModuleSnapshot(revision, array, slots, byName, buckets,
+            Collections.unmodifiableList(Arrays.asList(array)), enabledBits, null);
+    }
+
+    /**
+     * Same modules, after one was constructed (or failed to be)
+     */
+    ModuleSnapshot withLoaded() {
+        return new ModuleSnapshot(revision, entries, slots, byName, byCategory, entryList, enabledBits, searchIndex);
+    }
+
+    ModuleSnapshot withEnabled(BitSet enabledBits) {
+        return new ModuleSnapshot(this, enabledBits);
+    }
+
+    /**
+     * Whether this exact module instance is registered and constructed
+     */
+    boolean isInstalled(HudModule module) {
+        int index = module.getIndex();
+        return index >= 0 && index < slots.length && slots[index] != null && slots[index].module == module;
+    }
+
+    List<HudModule> loadedInCategory(Category category) {
+        return loadedByCategory.getOrDefault(category, List.of());
+    }
+
+    List<ModuleEntry> entriesInCategory(Category category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    /**
+     * The search index over these modules
+     *
+     * Learning Note: Building it takes a pass over every name, so it
+     * waits until someone searches. Two threads racing here just build
+     * the same index twice, so no lock is needed.
+     */
+    ModuleSearchIndex searchIndex() {
+        ModuleSearchIndex index = searchIndex;
+        if (index == null) {
+            index = new ModuleSearchIndex();
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] != null) index.add(i, slots[i].name, slots[i].description);
+            }
+            searchIndex = index;
+        }
+        return index;
+    }
+
+    private static List<HudModule> enabledView(ModuleEntry[] entries, BitSet enabledBits) {
+        if (enabledBits.isEmpty()) return List.of();
+
+        HudModule[] enabled = new HudModule[enabledBits.cardinality()];
+        int j = 0;
+        for (ModuleEntry entry : entries) {
+            HudModule module = entry.module;
+            if (module != null && entry.index >= 0 && enabledBits.get(entry.index) && j < enabled.length) {
+                enabled[j++] = module;
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(j == enabled.length ? enabled : Arrays.copyOf(enabled, j)));
+    }
+}
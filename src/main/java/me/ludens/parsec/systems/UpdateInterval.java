@@ -0,0 +1,53 @@
+package me.ludens.parsec.systems;
+
+/**
+ * How often a module's update() runs.
+ * 
+ * Learning Note: Most HUD values change far slower than the frame rate
+ * (position at 20 Hz, FPS once a second). Modules declare one of these
+ * and ModuleManager only calls update() when it's due, so render() can
+ * just draw what was computed last.
+ * 
+ * Example usage:
+ * setUpdateInterval(UpdateInterval.ticks(10));   // twice a second
+ * setUpdateInterval(UpdateInterval.millis(250)); // four times a second
+ */
+public final class UpdateInterval {
+    public static final UpdateInterval EVERY_TICK = new UpdateInterval(1, 0);
+
+    private final int ticks;
+    private final long nanos;
+
+    private UpdateInterval(int ticks, long nanos) {
+        this.ticks = ticks;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Run every N client ticks (20 ticks = 1 second)
+     */
+    public static UpdateInterval ticks(int ticks) {
+        if (ticks < 1) throw new IllegalArgumentException("Tick interval must be at least 1");
+        return ticks == 1 ? EVERY_TICK : new UpdateInterval(ticks, 0);
+    }
+
+    /**
+     * Run at most once per wall-clock period, checked on each tick
+     */
+    public static UpdateInterval millis(long millis) {
+        if (millis < 1) throw new IllegalArgumentException("Period must be at least 1ms");
+        return new UpdateInterval(0, millis * 1_000_000L);
+    }
+
+    public boolean isTickBased() {
+        return ticks > 0;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,36 @@
+package me.ludens.parsec.systems.modules;
+
+import me.ludens.parsec.systems.Category;
+import me.ludens.parsec.systems.ModuleProvider;
+import me.ludens.parsec.systems.ModuleRegistry;
+import me.ludens.parsec.systems.modules.render.CordsModule;
+import me.ludens.parsec.systems.modules.render.FpsModule;
+import me.ludens.parsec.systems.modules.render.ProfilerModule;
+
+/**
+ * Parsec's own modules, registered through the same "parsec:modules"
+ * entrypoint addon mods use.
+ *
+ * Learning Note: To add a module, declare it here with its name,
+ * description and category. Its constructor takes the ModuleEntry and
+ * hands it to HudModule, so those three are only written here. The
+ * constructor only runs once the module is actually used.
+ */
+public class ParsecModules implements ModuleProvider {
+    /**
+     * Stacking group of the built-in info readouts (FPS, coordinates, ...),
+     * so enabling several of them lists them instead of overlapping
+     */
+    public static final String INFO_GROUP = "info";
+
+    @Override
+    public void registerModules(ModuleRegistry registry) {
+        // HUD elements
+        registry.add("FPS", "Displays current FPS", Category.RENDER, FpsModule::new);
+        registry.add("Coordinates", "Displays your XYZ coordinates", Category.RENDER, CordsModule::new);
+        registry.add("Profiler", "Shows the slowest modules (render/update)", Category.MISC, ProfilerModule::new);
+
+        // Add more modules here as you create them:
+        // registry.add("Speed", "Displays your speed", Category.RENDER, SpeedModule::new);
+    }
+}
@@ -1,7 +1,10 @@
 package me.ludens.parsec.systems.modules.render;
 
-import me.ludens.parsec.systems.Category;
+import me.ludens.parsec.state.ClientState;
+import me.ludens.parsec.state.ClientStateSampler;
+import me.ludens.parsec.systems.ModuleEntry;
 import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.systems.modules.ParsecModules;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
@@ -9,59 +12,58 @@ import net.minecraft.client.gui.DrawContext;
 /**
  * Displays the player's current coordinates on the HUD.
  * 
- * Learning Note: This module uses caching to avoid recreating the
- * text string every frame when the position hasn't changed.
- * This is a performance optimization.
+ * Learning Note: This module only rewrites its text when the block
+ * position changes, and writes the numbers straight into the module's
+ * text buffer instead of going through String.format(). HudModule
+ * caches the measured width and background for it.
  */
 public class CordsModule extends HudModule {
-    // Cache for performance - only update when position changes
-    private String cachedText = "";
+    // Last position we built text for - only update when it changes
     private int lastX = Integer.MAX_VALUE;
     private int lastY = Integer.MAX_VALUE;
     private int lastZ = Integer.MAX_VALUE;
 
-    public CordsModule() {
+    public CordsModule(ModuleEntry entry) {
         super(
-            "Coordinates",                      // Module name
-            "Displays your XYZ coordinates",    // Description
-            Category.RENDER,                    // Category
+            entry,                              // Name, description and category, as declared in ParsecModules
             10,                                 // Initial X position
             25                                  // Initial Y position (below FPS)
         );
+
+        // Stays below FPS even when FPS grows, instead of overlapping it
+        setStackGroup(ParsecModules.INFO_GROUP);
     }
 
     @Override
-    public void render(DrawContext drawContext, TextRenderer textRenderer) {
-        MinecraftClient client = MinecraftClient.getInstance();
-        
-        // Safety check - don't render if player doesn't exist
-        if (client.player == null) return;
+    public void update(MinecraftClient client) {
+        // Safety check - nothing to show if player doesn't exist
+        ClientState state = ClientStateSampler.get();
+        if (!state.isInWorld()) return;
 
-        // Get player's current position
-        // Learning Note: We cast to int to round down to block coordinates
-        int xPos = (int) client.player.getX();
-        int yPos = (int) client.player.getY();
-        int zPos = (int) client.player.getZ();
+        // Get player's current block position from this tick's sample
+        int xPos = state.getBlockX();
+        int yPos = state.getBlockY();
+        int zPos = state.getBlockZ();
 
         // Only update text if position changed
-        // This avoids creating a new String object every frame
+        // The digits go into the module's buffer, so this allocates nothing
         if (xPos != lastX || yPos != lastY || zPos != lastZ) {
-            cachedText = String.format("XYZ: %d, %d, %d", xPos, yPos, zPos);
+            editDisplayText().append("XYZ: ").append(xPos).append(", ").append(yPos).append(", ").append(zPos);
             lastX = xPos;
             lastY = yPos;
             lastZ = zPos;
         }
+    }
 
-        // Calculate width and draw
-        int width = textRenderer.getWidth(cachedText);
-        drawBackground(drawContext, width);
-        drawContext.drawText(textRenderer, cachedText, x, y, textColor, true);
+    @Override
+    public void render(DrawContext drawContext, TextRenderer textRenderer) {
+        drawDisplayText(drawContext, textRenderer);
     }
 
     @Override
     public void onDisable() {
         // Clear cache when disabled to save memory
-        cachedText = "";
+        setDisplayText("");
         lastX = Integer.MAX_VALUE;
         lastY = Integer.MAX_VALUE;
         lastZ = Integer.MAX_VALUE;
@@ -76,7 +78,7 @@ public class CordsModule extends HudModule {
      * 
      * Decimal precision:
      * String.format("X: %.1f Y: %.1f Z: %.1f", 
-     *               client.player.getX(), client.player.getY(), client.player.getZ())
+     *               state.getX(), state.getY(), state.getZ())
      * 
      * Separate lines:
      * String text1 = "X: " + xPos;
@@ -1,7 +1,14 @@
 package me.ludens.parsec.systems.modules.render;
 
-import me.ludens.parsec.systems.Category;
+import me.ludens.parsec.profiler.FrameTimeRecorder;
+import me.ludens.parsec.profiler.FrameTimeStats;
+import me.ludens.parsec.settings.BoolSetting;
+import me.ludens.parsec.state.ClientStateSampler;
 import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.systems.ModuleEntry;
+import me.ludens.parsec.systems.UpdateInterval;
+import me.ludens.parsec.systems.modules.ParsecModules;
+import me.ludens.parsec.utils.TextBuffer;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
@@ -11,40 +18,162 @@ import net.minecraft.client.gui.DrawContext;
  * 
  * Learning Note: This extends HudModule, inheriting all its functionality.
  * We only need to implement the render() method to define what it displays.
+ *
+ * With "stats" or "graph" on it also turns on FrameTimeRecorder and shows
+ * what the once-a-second average hides: the 1% and 0.1% lows, p99 and
+ * min/max frame times, and a bar per recent frame.
  */
 public class FpsModule extends HudModule {
+    private static final int LINE_HEIGHT = 10;
+    private static final int GRAPH_FRAMES = 120; // One column per frame
+    private static final int GRAPH_HEIGHT = 24;
+    private static final int GRAPH_GAP = 2;
+    private static final long GRAPH_MAX_NANOS = 50_000_000L; // Bars are full height at 50ms (20 FPS)
+
+    private final BoolSetting stats = addSetting(new BoolSetting("stats", "Show 1%/0.1% lows, p99 and min/max frame times", false));
+    private final BoolSetting graph = addSetting(new BoolSetting("graph", "Show a graph of recent frame times", false));
+
+    private final FrameTimeStats frameStats = new FrameTimeStats();
+
+    // Stat lines below the FPS, prepared by update() and drawn as-is by render()
+    private final TextBuffer lowsLine = new TextBuffer(48);
+    private final TextBuffer timesLine = new TextBuffer(48);
+    private int linesWidth = 0;
+    private int fpsWidth = 0;
+
+    // Last value we built text for; getCurrentFps() only changes once a second
+    private int lastFps = -1;
     
-    public FpsModule() {
+    public FpsModule(ModuleEntry entry) {
         super(
-            "FPS",                          // Module name
-            "Displays current FPS",         // Description
-            Category.RENDER,                // Category
+            entry,                          // Name, description and category, as declared in ParsecModules
             10,                             // Initial X position
             10                              // Initial Y position
         );
+
+        // Minecraft only recalculates FPS once a second
+        setUpdateInterval(UpdateInterval.ticks(10));
+        setStackGroup(ParsecModules.INFO_GROUP);
+
+        stats.addListener(setting -> syncRecording());
+        graph.addListener(setting -> syncRecording());
     }
 
     @Override
-    public void render(DrawContext drawContext, TextRenderer textRenderer) {
-        // Get current FPS from Minecraft
-        int fps = MinecraftClient.getInstance().getCurrentFps();
-        
-        // Format the display text
-        String text = fps + " FPS";
-        
-        // Calculate width for background
-        int width = textRenderer.getWidth(text);
+    public void update(MinecraftClient client) {
+        // Get current FPS as sampled this tick
+        int fps = ClientStateSampler.get().getFps();
         
-        // Draw semi-transparent background
-        drawBackground(drawContext, width);
-        
-        // Draw the text
-        // Parameters: renderer, text, x, y, color (ARGB), shadow (true/false)
-        drawContext.drawText(textRenderer, text, x, y, textColor, true);
+        // Only rebuild the text when the value changes
+        if (fps != lastFps) {
+            lastFps = fps;
+            TextBuffer text = editDisplayText().append(fps).append(" FPS");
+            fpsWidth = client.textRenderer.getWidth(text);
+        }
+
+        if (stats.get()) {
+            FrameTimeRecorder.INSTANCE.computeStats(frameStats);
+
+            // "avg 143  1% 61  0.1% 38"
+            lowsLine.clear().append("avg ").append(Math.round(FrameTimeStats.toFps(frameStats.getMean())))
+                .append("  1% ").append(Math.round(FrameTimeStats.toFps(frameStats.getLow1())))
+                .append("  0.1% ").append(Math.round(FrameTimeStats.toFps(frameStats.getLow01())));
+
+            // "p99 12.4  min 5.1  max 40.8 ms"
+            timesLine.clear().append("p99 ").append(frameStats.getP99() / 1_000_000.0, 1)
+                .append("  min ").append(frameStats.getMin() / 1_000_000.0, 1)
+                .append("  max ").append(frameStats.getMax() / 1_000_000.0, 1).append(" ms");
+
+            // Re-layout only when the lines grow or shrink; new digits of the same width don't move anything
+            TextRenderer textRenderer = client.textRenderer;
+            int width = Math.max(textRenderer.getWidth(lowsLine), textRenderer.getWidth(timesLine));
+            if (width != linesWidth) {
+                linesWidth = width;
+                invalidateLayout();
+            }
+        }
+    }
+
+    @Override
+    protected void measure(TextRenderer textRenderer) {
+        if (!stats.get() && !graph.get()) {
+            super.measure(textRenderer);
+            return;
+        }
+
+        int width = fpsWidth;
+        int height = LINE_HEIGHT;
+        if (stats.get()) {
+            width = Math.max(width, linesWidth);
+            height += 2 * LINE_HEIGHT;
+        }
+        if (graph.get()) {
+            width = Math.max(width, GRAPH_FRAMES);
+            height += GRAPH_GAP + GRAPH_HEIGHT;
+        }
+        setContentSize(width, height);
+    }
+
+    @Override
+    public void render(DrawContext drawContext, TextRenderer textRenderer) {
+        // Draw the cached text and its semi-transparent background (which covers the stats too)
+        drawDisplayText(drawContext, textRenderer);
+        if (!stats.get() && !graph.get()) return;
+
+        int x = getRenderX();
+        int y = getRenderY() + LINE_HEIGHT;
+
+        if (stats.get()) {
+            drawContext.drawText(textRenderer, lowsLine, x, y, textColor.get(), true);
+            drawContext.drawText(textRenderer, timesLine, x, y + LINE_HEIGHT, textColor.get(), true);
+            y += 2 * LINE_HEIGHT;
+        }
+
+        if (graph.get()) {
+            drawGraph(drawContext, x, y + GRAPH_GAP + GRAPH_HEIGHT);
+        }
     }
 
     /**
-     * Optional: Add color coding based on FPS
+     * One bar per recent frame, newest on the right, colored by the FPS it works out to
+     */
+    private void drawGraph(DrawContext drawContext, int left, int bottom) {
+        FrameTimeRecorder recorder = FrameTimeRecorder.INSTANCE;
+        int frames = Math.min(GRAPH_FRAMES, recorder.getCount());
+        for (int age = 0; age < frames; age++) {
+            long nanos = recorder.getRecent(age);
+            int height = (int) Math.max(1, Math.min(GRAPH_HEIGHT, nanos * GRAPH_HEIGHT / GRAPH_MAX_NANOS));
+            int column = left + GRAPH_FRAMES - 1 - age;
+            int color = getFpsColor((int) FrameTimeStats.toFps(nanos));
+            drawContext.fill(column, bottom - height, column + 1, bottom, color);
+        }
+    }
+
+    @Override
+    public void onEnable() {
+        syncRecording();
+    }
+
+    @Override
+    public void onDisable() {
+        lastFps = -1;
+        fpsWidth = 0;
+        syncRecording();
+    }
+
+    /**
+     * Record frame times only while they're shown
+     */
+    private void syncRecording() {
+        FrameTimeRecorder.INSTANCE.setEnabled(isEnabled() && (stats.get() || graph.get()));
+        lowsLine.clear();
+        timesLine.clear();
+        linesWidth = 0;
+        invalidateLayout();
+    }
+
+    /**
+     * Color for a frame rate, used by the graph bars.
      * Good FPS = Green, Medium = Yellow, Low = Red
      */
     private int getFpsColor(int fps) {
@@ -52,9 +181,4 @@ public class FpsModule extends HudModule {
         if (fps >= 30) return 0xFFFFFF00;      // Yellow
         return 0xFFFF0000;                      // Red
     }
-
-    /**
-     * Example of using the color coding
-     * Uncomment in render() to use: drawContext.drawText(textRenderer, text, x, y, getFpsColor(fps), true);
-     */
 }
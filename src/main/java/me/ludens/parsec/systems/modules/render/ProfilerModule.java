@@ -0,0 +1,160 @@
+package me.ludens.parsec.systems.modules.render;
+
+import me.ludens.parsec.profiler.ModuleProfiler;
+import me.ludens.parsec.profiler.ProfilerStats;
+import me.ludens.parsec.systems.HudModule;
+import me.ludens.parsec.systems.ModuleEntry;
+import me.ludens.parsec.systems.ModuleManager;
+import me.ludens.parsec.systems.UpdateInterval;
+import me.ludens.parsec.systems.modules.ParsecModules;
+import me.ludens.parsec.utils.TextBuffer;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Shows which modules take the most time to render and update.
+ * 
+ * Learning Note: Enabling this module turns on ModuleProfiler; disabling
+ * it turns sampling off again, so profiling has no cost unless you're
+ * looking at it.
+ *
+ * The rows and text buffers are reused between updates, so the overlay
+ * itself doesn't add garbage to the numbers it's showing.
+ */
+public class ProfilerModule extends HudModule {
+    private static final int MAX_ROWS = 5;
+    private static final int LINE_HEIGHT = 10;
+    private static final String HEADER = "Profiler (µs, mean / p99 / max)";
+    private static final Comparator<Row> SLOWEST_FIRST = (a, b) -> Long.compare(b.total, a.total);
+
+    private final ProfilerStats renderStats = new ProfilerStats();
+    private final ProfilerStats updateStats = new ProfilerStats();
+
+    // One row per enabled module, reused between updates
+    private final List<Row> rows = new ArrayList<>();
+
+    // Lines prepared by update(), drawn as-is by render()
+    private final TextBuffer[] lines = new TextBuffer[MAX_ROWS + 1];
+    private int lineCount = 0;
+    private int linesWidth = 0;
+
+    public ProfilerModule(ModuleEntry entry) {
+        super(
+            entry,                                      // Name, description and category, as declared in ParsecModules
+            10,                                         // Initial X position
+            45                                          // Initial Y position
+        );
+
+        // Stats over a 256-sample window don't need refreshing every tick
+        setUpdateInterval(UpdateInterval.ticks(10));
+        setStackGroup(ParsecModules.INFO_GROUP);
+
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = new TextBuffer(64);
+        }
+        lines[0].append(HEADER);
+    }
+
+    @Override
+    public void onEnable() {
+        ModuleProfiler.setEnabled(true);
+    }
+
+    @Override
+    public void onDisable() {
+        ModuleProfiler.setEnabled(false);
+        rows.clear();
+        lineCount = 0;
+        linesWidth = 0;
+        invalidateLayout();
+    }
+
+    @Override
+    public void update(MinecraftClient client) {
+        List<HudModule> modules = ModuleManager.INSTANCE.getEnabledModules();
+
+        // Rank modules by mean render + update time
+        while (rows.size() < modules.size()) {
+            rows.add(new Row());
+        }
+        while (rows.size() > modules.size()) {
+            rows.remove(rows.size() - 1);
+        }
+        for (int i = 0; i < modules.size(); i++) {
+            HudModule module = modules.get(i);
+            ModuleProfiler.getRenderStats(module, renderStats);
+            ModuleProfiler.getUpdateStats(module, updateStats);
+            rows.get(i).set(module.getName(), renderStats, updateStats);
+        }
+        rows.sort(SLOWEST_FIRST);
+
+        lineCount = 1 + Math.min(MAX_ROWS, rows.size());
+        for (int i = 1; i < lineCount; i++) {
+            rows.get(i - 1).format(lines[i].clear());
+        }
+
+        TextRenderer textRenderer = client.textRenderer;
+        linesWidth = 0;
+        for (int i = 0; i < lineCount; i++) {
+            linesWidth = Math.max(linesWidth, textRenderer.getWidth(lines[i]));
+        }
+        invalidateLayout();
+    }
+
+    @Override
+    protected void measure(TextRenderer textRenderer) {
+        setContentSize(linesWidth, lineCount * LINE_HEIGHT);
+    }
+
+    @Override
+    public void render(DrawContext drawContext, TextRenderer textRenderer) {
+        if (lineCount == 0) return;
+
+        drawBackground(drawContext, linesWidth, lineCount * LINE_HEIGHT);
+        for (int i = 0; i < lineCount; i++) {
+            drawContext.drawText(textRenderer, lines[i], getRenderX(), getRenderY() + i * LINE_HEIGHT, textColor.get(), true);
+        }
+    }
+
+    /**
+     * One line of the overlay
+     */
+    private static class Row {
+        String name;
+        long total;
+        long renderMean, renderP99, renderMax;
+        long updateMean, updateP99, updateMax;
+
+        void set(String name, ProfilerStats render, ProfilerStats update) {
+            this.name = name;
+            this.renderMean = render.getMean();
+            this.renderP99 = render.getP99();
+            this.renderMax = render.getMax();
+            this.updateMean = update.getMean();
+            this.updateP99 = update.getP99();
+            this.updateMax = update.getMax();
+            this.total = renderMean + updateMean;
+        }
+
+        /**
+         * "name: R mean/p99/max  U mean/p99/max", in microseconds
+         */
+        void format(TextBuffer out) {
+            out.append(name).append(": R ");
+            appendMicros(out, renderMean, renderP99, renderMax);
+            out.append("  U ");
+            appendMicros(out, updateMean, updateP99, updateMax);
+        }
+
+        private static void appendMicros(TextBuffer out, long mean, long p99, long max) {
+            out.append(mean / 1000.0, 1).append('/')
+                .append(p99 / 1000.0, 1).append('/')
+                .append(max / 1000.0, 1);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package me.ludens.parsec.utils;
 import net.minecraft.client.util.InputUtil;
 import org.lwjgl.glfw.GLFW;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -17,6 +18,18 @@ public class Keybind {
     private int value;            // The key/button code
     private int modifiers;        // Modifier keys (Shift, Ctrl, Alt, etc.)
 
+    // Notified whenever the binding changes (input dispatcher, dirty tracking)
+    private Listener[] listeners = new Listener[0];
+
+    /**
+     * Callback for keybind changes. Receives the previous binding so
+     * listeners can update their indexes incrementally.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onChanged(Keybind keybind, boolean oldIsKey, int oldValue, int oldModifiers);
+    }
+
     /**
      * Creates an empty/unbound keybind
      */
@@ -155,17 +168,67 @@ public class Keybind {
      * Set this keybind from user input
      */
     public void set(boolean isKey, int value, int modifiers) {
+        boolean oldIsKey = this.isKey;
+        int oldValue = this.value;
+        int oldModifiers = this.modifiers;
+
         this.isKey = isKey;
         this.value = value;
         this.modifiers = modifiers;
+
+        notifyChanged(oldIsKey, oldValue, oldModifiers);
     }
 
     /**
      * Clear this keybind (unbind)
      */
     public void clear() {
-        this.value = GLFW.GLFW_KEY_UNKNOWN;
-        this.modifiers = 0;
+        set(isKey, GLFW.GLFW_KEY_UNKNOWN, 0);
+    }
+
+    /**
+     * Pack this keybind into a long: [isKey:1][modifiers:31][value:32]
+     * 
+     * Learning Note: Used by the config code to store and compare
+     * keybinds as plain numbers.
+     */
+    public long toBits() {
+        return ((isKey ? 1L : 0L) << 63)
+            | ((long) (modifiers & 0x7FFFFFFF) << 32)
+            | (value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Set this keybind from a value produced by toBits()
+     */
+    public void setBits(long bits) {
+        set((bits >>> 63) != 0, (int) bits, (int) ((bits >>> 32) & 0x7FFFFFFF));
+    }
+
+    /**
+     * Add a listener notified when this keybind changes
+     */
+    public void addListener(Listener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    public void removeListener(Listener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] != listener) continue;
+
+            Listener[] updated = Arrays.copyOf(listeners, listeners.length - 1);
+            System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+            listeners = updated;
+            return;
+        }
+    }
+
+    private void notifyChanged(boolean oldIsKey, int oldValue, int oldModifiers) {
+        if (oldIsKey == isKey && oldValue == value && oldModifiers == modifiers) return;
+        for (Listener listener : listeners) {
+            listener.onChanged(this, oldIsKey, oldValue, oldModifiers);
+        }
     }
 
     /**
@@ -181,7 +244,7 @@ public class Keybind {
     }
 
     public void setKey(boolean key) {
-        isKey = key;
+        set(key, value, modifiers);
     }
 
     public int getValue() {
@@ -189,7 +252,7 @@ public class Keybind {
     }
 
     public void setValue(int value) {
-        this.value = value;
+        set(isKey, value, modifiers);
     }
 
     public int getModifiers() {
@@ -197,7 +260,7 @@ public class Keybind {
     }
 
     public void setModifiers(int modifiers) {
-        this.modifiers = modifiers;
+        set(isKey, value, modifiers);
     }
 
     @Override
@@ -0,0 +1,240 @@
+package me.ludens.parsec.utils;
+
+import net.minecraft.text.CharacterVisitor;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Style;
+
+import java.util.Arrays;
+
+/**
+ * A reusable line of HUD text that numbers are written into directly.
+ *
+ * Learning Note: String.format() parses its pattern and builds new
+ * Strings every call, and "a" + b builds a new String too. This keeps
+ * one char[] per module and writes digits straight into it, so updating
+ * the text allocates nothing once the array is big enough. It's also an
+ * OrderedText, which DrawContext.drawText() and TextRenderer.getWidth()
+ * accept, so the chars are drawn without ever becoming a String.
+ *
+ * Text is drawn as-is: "§" formatting codes are not interpreted.
+ *
+ * Example usage:
+ * buffer.clear().append("XYZ: ").append(x).append(", ").append(y);
+ * buffer.append(speed, 2).append(" m/s");       // "4.37 m/s"
+ * buffer.appendPadded(fps, 4, ' ');             // "  60"
+ */
+public final class TextBuffer implements CharSequence, OrderedText {
+    private static final int DEFAULT_CAPACITY = 32;
+
+    // Powers of ten for fixed-precision doubles
+    private static final long[] SCALES = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private char[] chars;
+    private int length = 0;
+
+    public TextBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TextBuffer(int capacity) {
+        this.chars = new char[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Empty the buffer, keeping its array
+     */
+    public TextBuffer clear() {
+        length = 0;
+        return this;
+    }
+
+    public TextBuffer append(char c) {
+        ensureCapacity(length + 1);
+        chars[length++] = c;
+        return this;
+    }
+
+    public TextBuffer append(CharSequence text) {
+        int n = text.length();
+        ensureCapacity(length + n);
+        if (text instanceof String string) {
+            string.getChars(0, n, chars, length);
+        } else {
+            for (int i = 0; i < n; i++) {
+                chars[length + i] = text.charAt(i);
+            }
+        }
+        length += n;
+        return this;
+    }
+
+    public TextBuffer append(int value) {
+        return append((long) value);
+    }
+
+    /**
+     * Append a whole number in decimal
+     */
+    public TextBuffer append(long value) {
+        // Work with the negative value, which also covers Long.MIN_VALUE
+        boolean negative = value < 0;
+        long rest = negative ? value : -value;
+
+        int digits = 1;
+        for (long n = rest / 10; n != 0; n /= 10) {
+            digits++;
+        }
+        int size = negative ? digits + 1 : digits;
+        ensureCapacity(length + size);
+
+        int pos = length + size;
+        do {
+            chars[--pos] = (char) ('0' - rest % 10);
+            rest /= 10;
+        } while (rest != 0);
+        if (negative) chars[--pos] = '-';
+
+        length += size;
+        return this;
+    }
+
+    /**
+     * Append a number with a fixed number of decimals (0-9), rounding
+     * half up like String.format("%.1f")
+     */
+    public TextBuffer append(double value, int decimals) {
+        if (decimals < 0 || decimals >= SCALES.length) {
+            throw new IllegalArgumentException("Decimals must be between 0 and " + (SCALES.length - 1));
+        }
+        if (Double.isNaN(value)) return append("NaN");
+        if (Double.isInfinite(value)) return append(value > 0 ? "Infinity" : "-Infinity");
+
+        long scale = SCALES[decimals];
+        double scaled = Math.abs(value) * scale;
+        if (scaled >= Long.MAX_VALUE) {
+            // Too big for the digits to matter; the whole part is enough
+            return append((long) value);
+        }
+
+        long rounded = Math.round(scaled);
+        // No "-0.0" for small negatives that round to zero
+        if (value < 0 && rounded != 0) append('-');
+        append(rounded / scale);
+
+        if (decimals > 0) {
+            append('.');
+            long fraction = rounded % scale;
+            ensureCapacity(length + decimals);
+            for (int i = length + decimals - 1; i >= length; i--) {
+                chars[i] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            length += decimals;
+        }
+        return this;
+    }
+
+    /**
+     * Append a whole number right-aligned in a field of the given width.
+     * With '0' as padding the sign stays in front ("-007").
+     */
+    public TextBuffer appendPadded(long value, int width, char pad) {
+        int start = length;
+        append(value);
+        return padStart(start, width, pad);
+    }
+
+    /**
+     * append(double, int), right-aligned in a field of the given width
+     */
+    public TextBuffer appendPadded(double value, int decimals, int width, char pad) {
+        int start = length;
+        append(value, decimals);
+        return padStart(start, width, pad);
+    }
+
+    /**
+     * Append text left-aligned in a field of the given width, padded with spaces
+     */
+    public TextBuffer appendPadded(CharSequence text, int width) {
+        append(text);
+        for (int i = text.length(); i < width; i++) {
+            append(' ');
+        }
+        return this;
+    }
+
+    /**
+     * Whether this holds exactly the given text
+     */
+    public boolean contentEquals(CharSequence text) {
+        if (text.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (chars[i] != text.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException(index);
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(chars, start, end - start);
+    }
+
+    /**
+     * Feed the characters to a renderer, like Minecraft's own OrderedText
+     */
+    @Override
+    public boolean accept(CharacterVisitor visitor) {
+        for (int i = 0; i < length; ) {
+            int codePoint = Character.codePointAt(chars, i, length);
+            if (!visitor.accept(i, Style.EMPTY, codePoint)) return false;
+            i += Character.charCount(codePoint);
+        }
+        return true;
+    }
+
+    /**
+     * Allocates; meant for logging and debugging
+     */
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Shift what was appended since start to the right until it fills width
+     */
+    private TextBuffer padStart(int start, int width, char pad) {
+        int written = length - start;
+        int missing = width - written;
+        if (missing <= 0) return this;
+
+        // Zero padding goes between the sign and the digits
+        int from = pad == '0' && written > 0 && chars[start] == '-' ? start + 1 : start;
+
+        ensureCapacity(length + missing);
+        System.arraycopy(chars, from, chars, from + missing, length - from);
+        Arrays.fill(chars, from, from + missing, pad);
+        length += missing;
+        return this;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(capacity, chars.length * 2));
+        }
+    }
+}